@@ -0,0 +1,36 @@
+package com.investments.portfolio.benchmarks;
+
+import com.investments.portfolio.model.enums.AssetType;
+
+import java.util.SplittableRandom;
+
+public enum AssetMix {
+
+    BALANCED(30, 20, 20, 20, 10),
+    EQUITY_HEAVY(70, 5, 15, 5, 5),
+    CRYPTO_HEAVY(15, 70, 5, 5, 5),
+    FIXED_INCOME_HEAVY(10, 0, 10, 80, 0);
+
+    private final int[] cumulativeWeights;
+
+    AssetMix(int acao, int cripto, int fundo, int rendaFixa, int outro) {
+        int[] weights = {acao, cripto, fundo, rendaFixa, outro};
+        cumulativeWeights = new int[weights.length];
+        int total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public AssetType pick(SplittableRandom random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        AssetType[] types = AssetType.values();
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return types[i];
+            }
+        }
+        return AssetType.OUTRO;
+    }
+}
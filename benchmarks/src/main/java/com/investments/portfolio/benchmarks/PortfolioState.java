@@ -0,0 +1,64 @@
+package com.investments.portfolio.benchmarks;
+
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.enums.AssetType;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+@State(Scope.Benchmark)
+public class PortfolioState {
+
+    private static final Map<AssetType, String[]> SYMBOLS = new EnumMap<>(Map.of(
+            AssetType.ACAO, new String[]{"PETR4", "VALE3", "ITUB4", "BBAS3", "BBDC4"},
+            AssetType.CRIPTO, new String[]{"BTC", "ETH", "ADA", "SOL", "XRP"},
+            AssetType.FUNDO, new String[]{"BOVA11", "IVVB11", "HGLG11", "SMAL11", "HASH11"},
+            AssetType.RENDA_FIXA, new String[]{"CDB", "LCI", "LCA", "TESOURO"},
+            AssetType.OUTRO, new String[]{"OUTRO"}));
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int positions;
+
+    @Param({"BALANCED", "EQUITY_HEAVY", "CRYPTO_HEAVY", "FIXED_INCOME_HEAVY"})
+    public AssetMix mix;
+
+    public List<Investment> investments;
+
+    @Setup(Level.Trial)
+    public void buildPortfolio() {
+        SplittableRandom random = new SplittableRandom(42);
+        investments = new ArrayList<>(positions);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+
+        for (int i = 0; i < positions; i++) {
+            AssetType type = mix.pick(random);
+            String[] symbols = SYMBOLS.get(type);
+            String symbol = symbols[random.nextInt(symbols.length)];
+            BigDecimal purchasePrice = BigDecimal.valueOf(random.nextDouble(1.0, 1000.0)).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal currentPrice = purchasePrice.multiply(BigDecimal.valueOf(random.nextDouble(0.7, 1.3)))
+                    .setScale(2, RoundingMode.HALF_UP);
+
+            investments.add(Investment.builder()
+                    .id((long) i + 1)
+                    .type(type)
+                    .symbol(symbol)
+                    .name(symbol)
+                    .quantity(BigDecimal.valueOf(random.nextDouble(0.01, 500.0)).setScale(4, RoundingMode.HALF_UP))
+                    .purchasePrice(purchasePrice)
+                    .currentPrice(currentPrice)
+                    .purchaseDate(start.plusDays(random.nextInt(2000)))
+                    .build());
+        }
+    }
+}
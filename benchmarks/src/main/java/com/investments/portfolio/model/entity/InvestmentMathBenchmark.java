@@ -0,0 +1,38 @@
+package com.investments.portfolio.model.entity;
+
+import com.investments.portfolio.benchmarks.PortfolioState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvestmentMathBenchmark {
+
+    @Benchmark
+    public void profitLossPercentage(PortfolioState portfolio, Blackhole blackhole) {
+        for (Investment investment : portfolio.investments) {
+            blackhole.consume(investment.profitLossPercentage());
+        }
+    }
+
+    @Benchmark
+    public BigDecimal totalCurrentValue(PortfolioState portfolio) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Investment investment : portfolio.investments) {
+            total = total.add(investment.currentValue());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,66 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.benchmarks.PortfolioState;
+import com.investments.portfolio.model.entity.Investment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the simulated market: advancing every symbol of the portfolio by one tick, and quoting the positions
+ * through {@link SimulationMarketDataService#getCurrentPrice} from several threads at once while nothing ticks.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GbmTickEngineBenchmark {
+
+    private static final int TICKS = 1000;
+
+    private GbmTickEngine engine;
+    private SimulationMarketDataService marketData;
+
+    @Setup(Level.Trial)
+    public void createEngine(PortfolioState portfolio) throws ReflectiveOperationException {
+        engine = new GbmTickEngine(42L, 1000, 1.0, 0.0);
+        marketData = new SimulationMarketDataService(
+                null, null, null, null, null, null, null, null, engine, null, null);
+        Field variation = SimulationMarketDataService.class.getDeclaredField("priceVariationPercentage");
+        variation.setAccessible(true);
+        variation.setDouble(marketData, 10.0);
+        for (Investment investment : portfolio.investments) {
+            marketData.getCurrentPrice(investment.getSymbol(), investment.getType());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public void tickAllSymbols() {
+        engine.advance(TICKS);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void getCurrentPrice(PortfolioState portfolio, Blackhole blackhole) {
+        for (Investment investment : portfolio.investments) {
+            blackhole.consume(marketData.getCurrentPrice(investment.getSymbol(), investment.getType()));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.InvestmentsPortfolioApplication;
+import com.investments.portfolio.model.dto.InvestmentResponseDTO;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.repository.InvestmentRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Entity hydration + mapToResponseDTO versus the constructor-expression projection, against H2 with the Flyway schema.
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvestmentReadPathBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int positions;
+
+    private ConfigurableApplicationContext context;
+    private InvestmentRepository investmentRepository;
+    private InvestmentServiceImpl investmentService;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(InvestmentsPortfolioApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:read_path_" + positions + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.investments.portfolio=WARN",
+                        "--app.investments.search.mode=memory",
+                        "--app.market-data.simulation.update-rate-ms=3600000",
+                        "--app.portfolio.summary.reconcile-rate-ms=3600000");
+        investmentRepository = context.getBean(InvestmentRepository.class);
+        investmentService = context.getBean(InvestmentServiceImpl.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<InvestmentResponseDTO> hydrateEntitiesAndMap() {
+        return readOnly.execute(status -> investmentRepository.findAll()
+                .stream()
+                .map(investmentService::mapToResponseDTO)
+                .toList());
+    }
+
+    @Benchmark
+    public List<InvestmentResponseDTO> selectIntoDto() {
+        return readOnly.execute(status -> investmentRepository.findAllResponses());
+    }
+
+    @Benchmark
+    public List<InvestmentResponseDTO> getAllInvestments() {
+        return investmentService.getAllInvestments();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        SplittableRandom random = new SplittableRandom(42);
+        AssetType[] types = AssetType.values();
+        LocalDate start = LocalDate.of(2020, 1, 1);
+
+        List<Object[]> rows = IntStream.rangeClosed(1, positions)
+                .mapToObj(i -> new Object[]{
+                        (long) i,
+                        types[i % types.length].name(),
+                        "SYM" + (i % 500),
+                        "Ativo " + (i % 500),
+                        BigDecimal.valueOf(random.nextDouble(0.01, 500.0)).setScale(4, RoundingMode.HALF_UP),
+                        BigDecimal.valueOf(random.nextDouble(1.0, 1000.0)).setScale(2, RoundingMode.HALF_UP),
+                        Date.valueOf(start.plusDays(i % 2000))})
+                .toList();
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO investments (id, type, symbol, name, quantity, purchase_price, purchase_date)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, rows);
+    }
+}
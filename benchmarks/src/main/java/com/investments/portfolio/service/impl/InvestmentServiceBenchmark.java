@@ -0,0 +1,81 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.benchmarks.PortfolioState;
+import com.investments.portfolio.model.dto.SummaryDTO;
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.repository.InvestmentRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvestmentServiceBenchmark {
+
+    private InvestmentServiceImpl service;
+
+    @Setup(Level.Trial)
+    public void createService(PortfolioState portfolio) {
+        // No transaction manager: the benchmark never rebuilds from the database.
+        PortfolioSummaryAggregate summary = new PortfolioSummaryAggregate(emptyRepository(), null);
+        for (Investment investment : portfolio.investments) {
+            summary.recordAdded(investment.getType(), investment.investedValue());
+        }
+        service = new InvestmentServiceImpl(null, null, null, summary, null, null, null);
+    }
+
+    @Benchmark
+    public void mapToResponseDTO(PortfolioState portfolio, Blackhole blackhole) {
+        for (Investment investment : portfolio.investments) {
+            blackhole.consume(service.mapToResponseDTO(investment));
+        }
+    }
+
+    @Benchmark
+    public SummaryDTO getSummary() {
+        return service.getSummary();
+    }
+
+    // Linha de base: totais calculados varrendo todas as posições, como o resumo era feito antes do agregado.
+    @Benchmark
+    public Map<AssetType, BigDecimal> summaryFullScanBaseline(PortfolioState portfolio) {
+        Map<AssetType, BigDecimal> totals = new EnumMap<>(AssetType.class);
+        for (Investment investment : portfolio.investments) {
+            totals.merge(investment.getType(), investment.investedValue(), BigDecimal::add);
+        }
+        return totals;
+    }
+
+    private static InvestmentRepository emptyRepository() {
+        return (InvestmentRepository) Proxy.newProxyInstance(
+                InvestmentRepository.class.getClassLoader(),
+                new Class<?>[]{InvestmentRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("summarizeByType")) {
+                        return List.of();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,96 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.benchmarks.PortfolioState;
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.projection.MarketSymbol;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monte Carlo VaR/ES of the benchmark portfolio as {@code /investments/risk} computes it, on one thread and on all
+ * cores. The positions are collapsed to one exposure per symbol before simulating, as the service does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class RiskSimulationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Book {
+
+        @Param({"1000000"})
+        public int paths;
+
+        @Param({"1"})
+        public int horizonDays;
+
+        @Param({"1", "0"})
+        public int parallelism;
+
+        MonteCarloSimulation simulation;
+        ForkJoinPool pool;
+
+        @Setup(Level.Trial)
+        public void aggregate(PortfolioState portfolio) throws ReflectiveOperationException {
+            SimulationMarketDataService marketData = new SimulationMarketDataService(
+                    null, null, null, null, null, null, null, null, null, null, null);
+            Field variation = SimulationMarketDataService.class.getDeclaredField("priceVariationPercentage");
+            variation.setAccessible(true);
+            variation.setDouble(marketData, 10.0);
+            Map<MarketSymbol, Double> bySymbol = new LinkedHashMap<>();
+            List<AssetType> types = new ArrayList<>();
+            for (Investment investment : portfolio.investments) {
+                bySymbol.merge(new MarketSymbol(investment.getSymbol(), investment.getType()),
+                        investment.currentValue().doubleValue(), Double::sum);
+                if (!types.contains(investment.getType())) {
+                    types.add(investment.getType());
+                }
+            }
+            double[] exposures = new double[bySymbol.size()];
+            double[] dailyRanges = new double[bySymbol.size()];
+            int[] typeIndexes = new int[bySymbol.size()];
+            int i = 0;
+            for (Map.Entry<MarketSymbol, Double> entry : bySymbol.entrySet()) {
+                exposures[i] = entry.getValue();
+                dailyRanges[i] = marketData.variationRange(entry.getKey().type()) / 100.0;
+                typeIndexes[i] = types.indexOf(entry.getKey().type());
+                i++;
+            }
+            simulation = new MonteCarloSimulation(exposures, dailyRanges, typeIndexes, types.size());
+            pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        }
+
+        @TearDown(Level.Trial)
+        public void shutdown() {
+            pool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public double[] valueAtRisk(Book book) {
+        double[][] pnl = book.simulation.run(book.pool, book.horizonDays, book.paths, 42L);
+        return MonteCarloSimulation.tailRisk(pnl[0], 0.99);
+    }
+}
@@ -0,0 +1,90 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.benchmarks.PortfolioState;
+import com.investments.portfolio.model.dto.ValuationDTO;
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.enums.AssetType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregate valuation of the same positions with the entity's {@code BigDecimal} math and with
+ * {@link FixedPointValuation} over the scaled longs the valuation query returns. Run with {@code -prof gc} to compare
+ * allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValuationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ScaledRows {
+
+        long[] ids;
+        AssetType[] types;
+        String[] symbols;
+        long[] quantityUnits;
+        long[] purchaseCents;
+        long[] currentCents;
+
+        @Setup(Level.Trial)
+        public void scale(PortfolioState portfolio) {
+            List<Investment> investments = portfolio.investments;
+            int size = investments.size();
+            ids = new long[size];
+            types = new AssetType[size];
+            symbols = new String[size];
+            quantityUnits = new long[size];
+            purchaseCents = new long[size];
+            currentCents = new long[size];
+            for (int i = 0; i < size; i++) {
+                Investment investment = investments.get(i);
+                ids[i] = investment.getId();
+                types[i] = investment.getType();
+                symbols[i] = investment.getSymbol();
+                quantityUnits[i] = investment.getQuantity().unscaledValue().longValueExact();
+                purchaseCents[i] = investment.getPurchasePrice().unscaledValue().longValueExact();
+                currentCents[i] = investment.getCurrentPrice().unscaledValue().longValueExact();
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<AssetType, BigDecimal[]> bigDecimal(PortfolioState portfolio) {
+        Map<AssetType, BigDecimal[]> totals = new EnumMap<>(AssetType.class);
+        for (Investment investment : portfolio.investments) {
+            BigDecimal[] typeTotals = totals.computeIfAbsent(investment.getType(),
+                    type -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+            typeTotals[0] = typeTotals[0].add(investment.currentValue());
+            typeTotals[1] = typeTotals[1].add(investment.investedValue());
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public ValuationDTO fixedPoint(ScaledRows rows) {
+        FixedPointValuation valuation = new FixedPointValuation(false);
+        for (int i = 0; i < rows.ids.length; i++) {
+            valuation.add(rows.ids[i], rows.types[i], rows.symbols[i],
+                    rows.quantityUnits[i], rows.purchaseCents[i], rows.currentCents[i]);
+        }
+        return valuation.toDTO();
+    }
+}
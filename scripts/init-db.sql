@@ -10,11 +10,62 @@ CREATE TABLE IF NOT EXISTS investments (
     purchase_date DATE NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
+    manual_price BOOLEAN NOT NULL DEFAULT FALSE,
     CONSTRAINT chk_quantity_positive CHECK (quantity > 0),
     CONSTRAINT chk_purchase_price_positive CHECK (purchase_price > 0),
     CONSTRAINT chk_current_price_non_negative CHECK (current_price >= 0 OR current_price IS NULL)
 );
 
+-- Busca por trecho de simbolo/nome (ILIKE '%termo%') servida por indices de trigramas
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_investments_symbol_trgm ON investments USING gin (symbol gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_investments_name_trgm ON investments USING gin (name gin_trgm_ops);
+
+-- findByType / resumo por tipo (index-only scan) e simbolos distintos da atualizacao de precos
+CREATE INDEX IF NOT EXISTS idx_investments_type_covering ON investments (type) INCLUDE (purchase_price, quantity);
+CREATE INDEX IF NOT EXISTS idx_investments_symbol_type ON investments (symbol, type);
+
+-- Historico de precos particionado por mes e agregados OHLC (mesmo conteudo de V4__price_history.sql)
+CREATE TABLE IF NOT EXISTS price_history (
+    symbol VARCHAR(20) NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    quoted_at TIMESTAMPTZ NOT NULL,
+    price NUMERIC(15,2) NOT NULL
+) PARTITION BY RANGE (quoted_at);
+CREATE TABLE IF NOT EXISTS price_history_default PARTITION OF price_history DEFAULT;
+CREATE INDEX IF NOT EXISTS idx_price_history_symbol_time ON price_history (symbol, type, quoted_at);
+
+CREATE TABLE IF NOT EXISTS price_rollups (
+    resolution VARCHAR(4) NOT NULL,
+    symbol VARCHAR(20) NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    bucket_start TIMESTAMPTZ NOT NULL,
+    open_price NUMERIC(15,2) NOT NULL,
+    high_price NUMERIC(15,2) NOT NULL,
+    low_price NUMERIC(15,2) NOT NULL,
+    close_price NUMERIC(15,2) NOT NULL,
+    samples INTEGER NOT NULL,
+    PRIMARY KEY (resolution, symbol, type, bucket_start)
+);
+CREATE INDEX IF NOT EXISTS idx_price_rollups_retention ON price_rollups (resolution, bucket_start);
+
+-- Leases das tarefas agendadas (mesmo conteudo de V5__scheduler_leases.sql)
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    name VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(128),
+    fencing_token BIGINT NOT NULL DEFAULT 0,
+    expires_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Versao da carteira (mesmo conteudo de V8__portfolio_version.sql)
+CREATE TABLE IF NOT EXISTS portfolio_version (
+    id SMALLINT PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO portfolio_version (id, version) VALUES (1, 0) ON CONFLICT (id) DO NOTHING;
+
 -- Dados para demonstracao
 DO $$
 BEGIN
@@ -31,6 +82,9 @@ BEGIN
     END IF;
 END $$;
 
+-- Sequencia de IDs com incremento igual ao allocationSize do Hibernate (otimizador pooled)
+ALTER SEQUENCE investments_id_seq INCREMENT BY 50;
+
 -- Função de atualização do timestamp
 CREATE OR REPLACE FUNCTION update_updated_at_column()
     RETURNS TRIGGER AS $$
@@ -0,0 +1,29 @@
+package com.investments.portfolio.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.slow-query-log.enabled", havingValue = "true")
+public class SlowQueryLogConfig {
+
+    @Bean
+    public static BeanPostProcessor slowQueryLoggingPostProcessor(
+            @Value("${app.datasource.slow-query-log.threshold-ms:200}") long thresholdMs,
+            @Value("${app.datasource.slow-query-log.sample-rate:1.0}") double sampleRate) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SlowQueryLoggingDataSource)) {
+                    return new SlowQueryLoggingDataSource(dataSource, thresholdMs, sampleRate);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,18 +1,39 @@
 package com.investments.portfolio.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.investments.portfolio.model.dto.BatchCreateResultDTO;
+import com.investments.portfolio.model.dto.InvestmentPageDTO;
 import com.investments.portfolio.model.dto.InvestmentRequestDTO;
 import com.investments.portfolio.model.dto.InvestmentResponseDTO;
+import com.investments.portfolio.model.dto.PriceUpdateDTO;
+import com.investments.portfolio.model.dto.RiskDTO;
 import com.investments.portfolio.model.dto.SummaryDTO;
+import com.investments.portfolio.model.dto.ValuationDTO;
 import com.investments.portfolio.model.enums.AssetType;
 import com.investments.portfolio.service.InvestmentService;
+import com.investments.portfolio.service.PortfolioEventStream;
+import com.investments.portfolio.service.PortfolioVersionProvider;
+import com.investments.portfolio.service.RiskService;
+import com.investments.portfolio.service.ValuationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -22,6 +43,11 @@ import java.util.List;
 public class InvestmentController {
 
     private final InvestmentService investmentService;
+    private final ValuationService valuationService;
+    private final RiskService riskService;
+    private final PortfolioVersionProvider portfolioVersion;
+    private final PortfolioEventStream portfolioEvents;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @Operation(summary = "Cadastrar novo ativo na carteira")
@@ -31,10 +57,34 @@ public class InvestmentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Cadastrar varios ativos de uma vez")
+    public ResponseEntity<BatchCreateResultDTO> createInvestments(
+            @RequestBody List<InvestmentRequestDTO> requests) {
+        BatchCreateResultDTO response = investmentService.createInvestments(requests);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Importar ativos em NDJSON")
+    public ResponseEntity<BatchCreateResultDTO> importInvestments(InputStream body) throws IOException {
+        try (MappingIterator<InvestmentRequestDTO> requests = objectMapper
+                .readerFor(InvestmentRequestDTO.class)
+                .readValues(body)) {
+            BatchCreateResultDTO response = investmentService.importInvestments(requests);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
+    }
+
     @GetMapping
     @Operation(summary = "Listar todos os ativos da carteira")
     public ResponseEntity<List<InvestmentResponseDTO>> getAllInvestments(
-            @RequestParam(required = false) AssetType type) {
+            @RequestParam(required = false) AssetType type,
+            WebRequest request) {
+        String etag = portfolioVersion.currentETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
 
         List<InvestmentResponseDTO> investments;
         if (type != null) {
@@ -43,37 +93,148 @@ public class InvestmentController {
             investments = investmentService.getAllInvestments();
         }
 
+        return ResponseEntity.ok().eTag(etag).body(investments);
+    }
+
+    @GetMapping("/page")
+    @Operation(summary = "Listar ativos da carteira com paginacao por cursor")
+    public ResponseEntity<InvestmentPageDTO> getInvestmentsPage(
+            @RequestParam(required = false) AssetType type,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
+        InvestmentPageDTO page = investmentService.getInvestmentsPage(type, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Buscar ativos por trecho do simbolo ou do nome")
+    public ResponseEntity<List<InvestmentResponseDTO>> searchInvestments(
+            @RequestParam(required = false) String symbol,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) Integer limit) {
+        List<InvestmentResponseDTO> investments = investmentService.searchInvestments(symbol, name, limit);
         return ResponseEntity.ok(investments);
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar todos os ativos da carteira em NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportInvestments(
+            @RequestParam(required = false) AssetType type) {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .withRootValueSeparator("\n")
+                    .writeValues(out)) {
+                investmentService.streamInvestments(type, investment -> {
+                    try {
+                        writer.write(investment);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar mudancas de preco e da carteira via Server-Sent Events")
+    public SseEmitter streamEvents() {
+        return portfolioEvents.subscribe();
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar ativo por ID")
     public ResponseEntity<InvestmentResponseDTO> getInvestmentById(@PathVariable Long id) {
         InvestmentResponseDTO investment = investmentService.getInvestmentById(id);
-        return ResponseEntity.ok(investment);
+        return withVersion(investment);
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Atualizar um ativo")
+    @Operation(summary = "Atualizar um ativo (If-Match opcional com o ETag lido)")
     public ResponseEntity<InvestmentResponseDTO> updateInvestment(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody InvestmentRequestDTO requestDTO) {
 
-        InvestmentResponseDTO updatedInvestment = investmentService.updateInvestment(id, requestDTO);
-        return ResponseEntity.ok(updatedInvestment);
+        InvestmentResponseDTO updatedInvestment = investmentService.updateInvestment(id, requestDTO, expectedVersion(ifMatch));
+        return withVersion(updatedInvestment);
+    }
+
+    @PatchMapping("/{id}/price")
+    @Operation(summary = "Atualizar o preco atual de um ativo")
+    public ResponseEntity<Void> updateMarketPrice(
+            @PathVariable Long id,
+            @Valid @RequestBody PriceUpdateDTO priceUpdate) {
+        investmentService.updateMarketPrice(id, priceUpdate.getCurrentPrice());
+        return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/{id}")
-    @Operation(summary = "Remover um ativo da carteira")
-    public ResponseEntity<Void> deleteInvestment(@PathVariable Long id) {
-        investmentService.deleteInvestment(id);
+    @Operation(summary = "Remover um ativo da carteira (If-Match opcional com o ETag lido)")
+    public ResponseEntity<Void> deleteInvestment(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        investmentService.deleteInvestment(id, expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/summary")
     @Operation(summary = "Obter resumo da carteira")
-    public ResponseEntity<SummaryDTO> getSummary() {
+    public ResponseEntity<SummaryDTO> getSummary(WebRequest request) {
+        String etag = portfolioVersion.currentETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
         SummaryDTO summary = investmentService.getSummary();
-        return ResponseEntity.ok(summary);
+        return ResponseEntity.ok().eTag(etag).body(summary);
+    }
+
+    @GetMapping("/valuation")
+    @Operation(summary = "Obter valor de mercado e lucro/prejuizo por ativo e da carteira")
+    public ResponseEntity<ValuationDTO> getValuation(
+            @RequestParam(required = false) AssetType type,
+            @RequestParam(defaultValue = "true") boolean positions) {
+        ValuationDTO valuation = valuationService.getValuation(type, positions);
+        return ResponseEntity.ok(valuation);
+    }
+
+    @GetMapping("/risk")
+    @Operation(summary = "Estimar VaR e Expected Shortfall da carteira por simulacao de Monte Carlo")
+    public ResponseEntity<RiskDTO> getRisk(
+            @RequestParam(required = false) Integer horizonDays,
+            @RequestParam(required = false) Integer paths,
+            @RequestParam(required = false) Double confidence,
+            @RequestParam(required = false) Long seed) {
+        RiskDTO risk = riskService.getRisk(horizonDays, paths, confidence, seed);
+        return ResponseEntity.ok(risk);
+    }
+
+    private ResponseEntity<InvestmentResponseDTO> withVersion(InvestmentResponseDTO investment) {
+        if (investment.getVersion() == null) {
+            return ResponseEntity.ok(investment);
+        }
+        return ResponseEntity.ok().eTag(investment.getVersion().toString()).body(investment);
+    }
+
+    // If-Match carries the ETag of GET /investments/{id}; "*" or no header means an unconditional write.
+    private Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            // Not an ETag this API issued, so it cannot match the current version.
+            return -1L;
+        }
     }
 }
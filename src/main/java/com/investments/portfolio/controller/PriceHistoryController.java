@@ -0,0 +1,37 @@
+package com.investments.portfolio.controller;
+
+import com.investments.portfolio.model.dto.PriceHistoryDTO;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.service.PriceHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/prices")
+@RequiredArgsConstructor
+@Tag(name = "Prices", description = "Historico de precos por simbolo")
+public class PriceHistoryController {
+
+    private final PriceHistoryService priceHistoryService;
+
+    @GetMapping("/{symbol}")
+    @Operation(summary = "Historico de precos (OHLC) de um simbolo")
+    public ResponseEntity<PriceHistoryDTO> getHistory(
+            @PathVariable String symbol,
+            @RequestParam(required = false) AssetType type,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String resolution) {
+        PriceHistoryDTO history = priceHistoryService.getHistory(symbol, type, from, to, resolution);
+        return ResponseEntity.ok(history);
+    }
+}
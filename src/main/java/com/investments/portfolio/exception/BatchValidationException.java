@@ -0,0 +1,19 @@
+package com.investments.portfolio.exception;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class BatchValidationException extends RuntimeException {
+
+    private final List<Violation> violations;
+
+    public BatchValidationException(List<Violation> violations) {
+        super("Validation failed for " + violations.size() + " field(s) in batch request.");
+        this.violations = List.copyOf(violations);
+    }
+
+    public record Violation(String field, String error) {
+    }
+}
@@ -3,6 +3,7 @@ package com.investments.portfolio.exception;
 import com.investments.portfolio.model.enums.AssetType;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -32,6 +33,19 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ProblemDetail handleOptimisticLockingFailure(
+            OptimisticLockingFailureException ex, HttpServletRequest request) {
+        return buildProblem(
+                HttpStatus.CONFLICT,
+                "Concurrent Modification",
+                "The investment was changed by another request. Reload it and try again.",
+                "INVESTMENT_VERSION_CONFLICT",
+                "investment-version-conflict",
+                request
+        );
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ProblemDetail handleValidationExceptions(
             MethodArgumentNotValidException ex, HttpServletRequest request) {
@@ -56,6 +70,53 @@ public class GlobalExceptionHandler {
         return problem;
     }
 
+    @ExceptionHandler(BatchValidationException.class)
+    public ProblemDetail handleBatchValidationException(
+            BatchValidationException ex, HttpServletRequest request) {
+        ProblemDetail problem = buildProblem(
+                HttpStatus.BAD_REQUEST,
+                "Validation Error",
+                "Validation failed for batch request.",
+                "VALIDATION_ERROR",
+                "validation-error",
+                request
+        );
+
+        List<FieldErrorDTO> errors = ex.getViolations()
+                .stream()
+                .map(violation -> new FieldErrorDTO(violation.field(), violation.error()))
+                .toList();
+
+        problem.setProperty("errors", errors);
+        return problem;
+    }
+
+    @ExceptionHandler(InvalidPriceHistoryQueryException.class)
+    public ProblemDetail handleInvalidPriceHistoryQuery(
+            InvalidPriceHistoryQueryException ex, HttpServletRequest request) {
+        return buildProblem(
+                HttpStatus.BAD_REQUEST,
+                "Invalid Price History Query",
+                ex.getMessage(),
+                "INVALID_PRICE_HISTORY_QUERY",
+                "invalid-price-history-query",
+                request
+        );
+    }
+
+    @ExceptionHandler(InvalidRiskQueryException.class)
+    public ProblemDetail handleInvalidRiskQuery(
+            InvalidRiskQueryException ex, HttpServletRequest request) {
+        return buildProblem(
+                HttpStatus.BAD_REQUEST,
+                "Invalid Risk Query",
+                ex.getMessage(),
+                "INVALID_RISK_QUERY",
+                "invalid-risk-query",
+                request
+        );
+    }
+
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ProblemDetail handleMethodArgumentTypeMismatch(
             MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
@@ -0,0 +1,8 @@
+package com.investments.portfolio.exception;
+
+public class InvalidPriceHistoryQueryException extends RuntimeException {
+
+    public InvalidPriceHistoryQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.investments.portfolio.exception;
+
+public class InvalidRiskQueryException extends RuntimeException {
+
+    public InvalidRiskQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.investments.portfolio.model.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InvestmentPageDTO {
+
+    private List<InvestmentResponseDTO> items;
+    private Long nextCursor;
+
+}
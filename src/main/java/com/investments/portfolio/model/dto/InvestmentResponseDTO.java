@@ -1,5 +1,6 @@
 package com.investments.portfolio.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.investments.portfolio.model.enums.AssetType;
 import lombok.Builder;
 import lombok.Getter;
@@ -22,4 +23,8 @@ public class InvestmentResponseDTO {
     private BigDecimal purchasePrice;
     private LocalDate purchaseDate;
 
+    // Sent as the ETag of /investments/{id}, not in the body.
+    @JsonIgnore
+    private Long version;
+
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.investments.portfolio.model.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PortfolioChangeDTO {
+
+    private String etag;
+    private SummaryDTO summary;
+
+}
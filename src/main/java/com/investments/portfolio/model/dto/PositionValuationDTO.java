@@ -0,0 +1,27 @@
+package com.investments.portfolio.model.dto;
+
+import com.investments.portfolio.model.enums.AssetType;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PositionValuationDTO {
+
+    private Long id;
+    private AssetType type;
+    private String symbol;
+    private BigDecimal quantity;
+    private BigDecimal currentPrice;
+    private BigDecimal marketValue;
+    private BigDecimal investedValue;
+    private BigDecimal profitLoss;
+    private BigDecimal profitLossPercentage;
+
+}
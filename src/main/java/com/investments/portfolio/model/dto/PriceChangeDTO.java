@@ -0,0 +1,24 @@
+package com.investments.portfolio.model.dto;
+
+import com.investments.portfolio.model.enums.AssetType;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceChangeDTO {
+
+    private String symbol;
+    private AssetType type;
+    private BigDecimal price;
+    private Long version;
+    private Instant quotedAt;
+
+}
@@ -0,0 +1,26 @@
+package com.investments.portfolio.model.dto;
+
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.enums.PriceResolution;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceHistoryDTO {
+
+    private String symbol;
+    private AssetType type;
+    private PriceResolution resolution;
+    private Instant from;
+    private Instant to;
+    private List<PriceCandleDTO> points;
+
+}
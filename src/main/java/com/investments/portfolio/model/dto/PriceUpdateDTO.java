@@ -0,0 +1,21 @@
+package com.investments.portfolio.model.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceUpdateDTO {
+
+    @NotNull(message = "Preco atual e obrigatorio")
+    @DecimalMin(value = "0.00", message = "Preco atual nao pode ser negativo")
+    private BigDecimal currentPrice;
+}
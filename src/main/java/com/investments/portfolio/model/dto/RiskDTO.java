@@ -0,0 +1,25 @@
+package com.investments.portfolio.model.dto;
+
+import com.investments.portfolio.model.enums.AssetType;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RiskDTO {
+
+    private Integer horizonDays;
+    private Integer paths;
+    private BigDecimal confidence;
+    private Long seed;
+    private RiskTotalDTO total;
+    private Map<AssetType, RiskTotalDTO> totalByType;
+
+}
@@ -0,0 +1,21 @@
+package com.investments.portfolio.model.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RiskTotalDTO {
+
+    private Integer positionCount;
+    private BigDecimal marketValue;
+    private BigDecimal valueAtRisk;
+    private BigDecimal expectedShortfall;
+
+}
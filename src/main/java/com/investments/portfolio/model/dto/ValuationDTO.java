@@ -0,0 +1,25 @@
+package com.investments.portfolio.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.investments.portfolio.model.enums.AssetType;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ValuationDTO {
+
+    private ValuationTotalDTO total;
+    private Map<AssetType, ValuationTotalDTO> totalByType;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<PositionValuationDTO> positions;
+
+}
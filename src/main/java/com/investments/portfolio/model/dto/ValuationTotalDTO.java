@@ -0,0 +1,22 @@
+package com.investments.portfolio.model.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ValuationTotalDTO {
+
+    private Integer positionCount;
+    private BigDecimal marketValue;
+    private BigDecimal investedValue;
+    private BigDecimal profitLoss;
+    private BigDecimal profitLossPercentage;
+
+}
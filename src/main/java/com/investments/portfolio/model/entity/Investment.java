@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -17,6 +18,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "investments")
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,7 +27,8 @@ import java.time.LocalDateTime;
 public class Investment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "investments_id_seq")
+    @SequenceGenerator(name = "investments_id_seq", sequenceName = "investments_id_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -47,6 +50,10 @@ public class Investment {
     @Column(name = "current_price", precision = 15, scale = 2)
     private BigDecimal currentPrice;
 
+    // Set by PATCH /investments/{id}/price; the scheduled refresh no longer writes the position's price.
+    @Column(name = "manual_price", nullable = false)
+    private boolean manualPrice;
+
     @Column(name = "purchase_date", nullable = false)
     private LocalDate purchaseDate;
 
@@ -58,6 +65,11 @@ public class Investment {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Bumped by position edits only; current_price writes go through targeted updates that leave it alone.
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Transient
     public BigDecimal currentValue() {
         return safe(currentPrice).multiply(safe(quantity));
@@ -0,0 +1,48 @@
+package com.investments.portfolio.model.enums;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+public enum PriceResolution {
+
+    RAW("raw", null),
+    MINUTE("1m", ChronoUnit.MINUTES),
+    HOUR("1h", ChronoUnit.HOURS),
+    DAY("1d", ChronoUnit.DAYS);
+
+    public static final List<PriceResolution> ROLLUPS = List.of(MINUTE, HOUR, DAY);
+
+    private final String code;
+    private final ChronoUnit unit;
+
+    PriceResolution(String code, ChronoUnit unit) {
+        this.code = code;
+        this.unit = unit;
+    }
+
+    @JsonValue
+    public String code() {
+        return code;
+    }
+
+    public Duration bucket() {
+        return unit.getDuration();
+    }
+
+    // Buckets are aligned to UTC.
+    public Instant bucketStart(Instant instant) {
+        return unit == null ? instant : instant.truncatedTo(unit);
+    }
+
+    public static Optional<PriceResolution> fromCode(String code) {
+        return Arrays.stream(values())
+                .filter(resolution -> resolution.code.equalsIgnoreCase(code))
+                .findFirst();
+    }
+}
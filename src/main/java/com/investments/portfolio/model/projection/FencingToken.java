@@ -0,0 +1,15 @@
+package com.investments.portfolio.model.projection;
+
+// Token of a scheduler lease; writes made under it only apply while it is still the lease's current token.
+public record FencingToken(String lease, long value) {
+
+    private static final long UNFENCED = 0;
+
+    public static FencingToken unfenced(String lease) {
+        return new FencingToken(lease, UNFENCED);
+    }
+
+    public boolean isFenced() {
+        return value != UNFENCED;
+    }
+}
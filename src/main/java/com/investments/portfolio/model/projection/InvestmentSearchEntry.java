@@ -0,0 +1,4 @@
+package com.investments.portfolio.model.projection;
+
+public record InvestmentSearchEntry(Long id, String symbol, String name) {
+}
@@ -0,0 +1,14 @@
+package com.investments.portfolio.model.projection;
+
+import com.investments.portfolio.model.enums.AssetType;
+
+import java.math.BigDecimal;
+
+public interface InvestmentTypeTotal {
+
+    AssetType getType();
+
+    BigDecimal getTotalInvested();
+
+    Long getAssetCount();
+}
@@ -0,0 +1,6 @@
+package com.investments.portfolio.model.projection;
+
+import com.investments.portfolio.model.enums.AssetType;
+
+public record MarketSymbol(String symbol, AssetType type) {
+}
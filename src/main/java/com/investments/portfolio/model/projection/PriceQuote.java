@@ -0,0 +1,7 @@
+package com.investments.portfolio.model.projection;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record PriceQuote(MarketSymbol symbol, BigDecimal price, Instant quotedAt, long version) {
+}
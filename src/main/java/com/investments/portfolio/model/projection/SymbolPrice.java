@@ -0,0 +1,6 @@
+package com.investments.portfolio.model.projection;
+
+import java.math.BigDecimal;
+
+public record SymbolPrice(MarketSymbol symbol, BigDecimal currentPrice) {
+}
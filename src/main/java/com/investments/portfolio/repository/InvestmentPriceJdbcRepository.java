@@ -0,0 +1,189 @@
+package com.investments.portfolio.repository;
+
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.projection.FencingToken;
+import com.investments.portfolio.model.projection.MarketSymbol;
+import com.investments.portfolio.model.projection.PriceQuote;
+import com.investments.portfolio.model.projection.SymbolPrice;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class InvestmentPriceJdbcRepository {
+
+    // The package-private statements run on every refresh cycle; InvestmentQueryPlanTest checks their plans.
+    static final String SELECT_DISTINCT_SYMBOLS =
+            "SELECT DISTINCT symbol, type FROM investments";
+
+    // Positions priced by PATCH /investments/{id}/price are left out, so the refresh never overwrites a user's price.
+    static final String SELECT_PRICE_CHUNK_FOR_UPDATE =
+            "SELECT id, symbol, type, current_price FROM investments WHERE id > ? AND NOT manual_price "
+                    + "ORDER BY id LIMIT ? FOR UPDATE";
+
+    static final String UPDATE_CURRENT_PRICE_BY_ID =
+            "UPDATE investments SET current_price = ?, updated_at = ? WHERE id = ?";
+
+    // Locks the lease row for the rest of the chunk transaction: a node taking over the lease has to wait for the
+    // chunk to commit, so no chunk can write after its token was superseded.
+    private static final String LOCK_FENCE =
+            "SELECT fencing_token FROM scheduler_leases WHERE name = ? FOR UPDATE";
+
+    // Price and timestamp both come from the most recently refreshed position of each symbol; a manual price belongs
+    // to its position only and is never taken as the symbol's price.
+    private static final String SELECT_LATEST_PRICES =
+            "SELECT symbol, type, current_price, updated_at FROM ("
+                    + "SELECT symbol, type, current_price, updated_at, ROW_NUMBER() OVER ("
+                    + "PARTITION BY symbol, type ORDER BY updated_at DESC NULLS LAST, id DESC) AS recency "
+                    + "FROM investments WHERE current_price IS NOT NULL AND NOT manual_price) latest WHERE recency = 1";
+
+    // Quantities (scale 4) and prices (scale 2) leave the database already scaled to exact longs.
+    private static final String SELECT_VALUATION_ROWS =
+            "SELECT id, type, symbol, CAST(quantity * 10000 AS BIGINT), CAST(purchase_price * 100 AS BIGINT), "
+                    + "CAST(current_price * 100 AS BIGINT), manual_price FROM investments";
+
+    private static final int VALUATION_FETCH_SIZE = 1000;
+
+    public static final long NO_PRICE = Long.MIN_VALUE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Rows another transaction is editing are skipped, so a refresh chunk never waits on a user write.
+    // H2 2.1 (profile test) has no SKIP LOCKED.
+    @Value("${app.market-data.refresh.skip-locked:true}")
+    private boolean skipLocked;
+
+    public List<MarketSymbol> findDistinctSymbols() {
+        return jdbcTemplate.query(SELECT_DISTINCT_SYMBOLS, (rs, rowNum) -> new MarketSymbol(
+                rs.getString("symbol"),
+                AssetType.valueOf(rs.getString("type"))));
+    }
+
+    public List<PriceQuote> findLatestPrices() {
+        return jdbcTemplate.query(SELECT_LATEST_PRICES, (rs, rowNum) -> {
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            return new PriceQuote(
+                    new MarketSymbol(rs.getString("symbol"), AssetType.valueOf(rs.getString("type"))),
+                    rs.getBigDecimal("current_price"),
+                    updatedAt == null ? Instant.EPOCH : updatedAt.toInstant(),
+                    0);
+        });
+    }
+
+    public void forEachValuationRow(AssetType type, StoredValuationRowHandler handler) {
+        String sql = SELECT_VALUATION_ROWS + (type == null ? "" : " WHERE type = ?") + " ORDER BY id";
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setFetchSize(VALUATION_FETCH_SIZE);
+            if (type != null) {
+                ps.setString(1, type.name());
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            long id = rs.getLong(1);
+            AssetType rowType = AssetType.valueOf(rs.getString(2));
+            String symbol = rs.getString(3);
+            long quantityUnits = rs.getLong(4);
+            long purchaseCents = rs.getLong(5);
+            long currentCents = rs.getLong(6);
+            boolean unpriced = rs.wasNull();
+            handler.accept(id, rowType, symbol, quantityUnits, purchaseCents, unpriced ? NO_PRICE : currentCents,
+                    rs.getBoolean(7));
+        });
+    }
+
+    /**
+     * Writes each symbol's price to its positions in chunks of {@code chunkSize} rows, walking the table by id and
+     * committing every chunk on its own, so row locks are held for one chunk at a time rather than for a whole symbol.
+     * With SKIP LOCKED, positions locked by a concurrent edit are left alone and pick up the price on the next refresh;
+     * without it a chunk waits only for the edits touching its own rows. With a fence,
+     * each chunk holds the lease row locked while it writes and writing stops at the first chunk that finds the
+     * fencing token superseded.
+     */
+    public int updateCurrentPricesInChunks(List<SymbolPrice> prices, int chunkSize, FencingToken fence) {
+        if (prices.isEmpty()) {
+            return 0;
+        }
+        Map<MarketSymbol, BigDecimal> priceBySymbol = new HashMap<>(prices.size() * 2);
+        prices.forEach(price -> priceBySymbol.put(price.symbol(), price.currentPrice()));
+        boolean fenced = fence != null && fence.isFenced();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int written = 0;
+        long lastId = 0;
+        while (true) {
+            long afterId = lastId;
+            PriceChunk chunk = transactionTemplate.execute(status -> fenced && !lockIfCurrent(fence)
+                    ? null
+                    : updateChunk(priceBySymbol, afterId, chunkSize, now));
+            if (chunk == null) {
+                break;
+            }
+            written += chunk.written();
+            if (chunk.rows() < chunkSize) {
+                break;
+            }
+            lastId = chunk.lastId();
+        }
+        return written;
+    }
+
+    private PriceChunk updateChunk(Map<MarketSymbol, BigDecimal> priceBySymbol, long afterId, int chunkSize,
+                                   Timestamp now) {
+        List<Object[]> updates = new ArrayList<>();
+        long[] lastId = {afterId};
+        int[] rows = {0};
+        String sql = skipLocked ? SELECT_PRICE_CHUNK_FOR_UPDATE + " SKIP LOCKED" : SELECT_PRICE_CHUNK_FOR_UPDATE;
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            long id = rs.getLong(1);
+            BigDecimal price = priceBySymbol.get(new MarketSymbol(rs.getString(2), AssetType.valueOf(rs.getString(3))));
+            BigDecimal current = rs.getBigDecimal(4);
+            if (price != null && (current == null || current.compareTo(price) != 0)) {
+                updates.add(new Object[]{price, now, id});
+            }
+            lastId[0] = id;
+            rows[0]++;
+        }, afterId, chunkSize);
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_CURRENT_PRICE_BY_ID, updates);
+        }
+        return new PriceChunk(rows[0], updates.size(), lastId[0]);
+    }
+
+    private boolean lockIfCurrent(FencingToken fence) {
+        List<Long> tokens = jdbcTemplate.queryForList(LOCK_FENCE, Long.class, fence.lease());
+        return !tokens.isEmpty() && tokens.get(0) == fence.value();
+    }
+
+    private record PriceChunk(int rows, int written, long lastId) {
+    }
+
+    @FunctionalInterface
+    public interface ValuationRowHandler {
+
+        void accept(long id, AssetType type, String symbol, long quantityUnits, long purchaseCents, long currentCents);
+    }
+
+    // As ValuationRowHandler, with whether currentCents was set manually.
+    @FunctionalInterface
+    public interface StoredValuationRowHandler {
+
+        void accept(long id, AssetType type, String symbol, long quantityUnits, long purchaseCents, long currentCents,
+                    boolean manualPrice);
+    }
+}
@@ -1,19 +1,99 @@
 package com.investments.portfolio.repository;
 
+import com.investments.portfolio.model.dto.InvestmentResponseDTO;
 import com.investments.portfolio.model.entity.Investment;
 import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.projection.InvestmentSearchEntry;
+import com.investments.portfolio.model.projection.InvestmentTypeTotal;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface InvestmentRepository extends JpaRepository<Investment, Long> {
     
     List<Investment> findByType(AssetType type);
+
+    @Query("""
+            select new com.investments.portfolio.model.dto.InvestmentResponseDTO(
+                i.id, i.type, i.symbol, i.quantity, i.purchasePrice, i.purchaseDate, i.version)
+            from Investment i
+            order by i.id
+            """)
+    List<InvestmentResponseDTO> findAllResponses();
+
+    @Query("""
+            select new com.investments.portfolio.model.dto.InvestmentResponseDTO(
+                i.id, i.type, i.symbol, i.quantity, i.purchasePrice, i.purchaseDate, i.version)
+            from Investment i
+            where i.type = :type
+            order by i.id
+            """)
+    List<InvestmentResponseDTO> findResponsesByType(@Param("type") AssetType type);
+
+    @Query("""
+            select new com.investments.portfolio.model.dto.InvestmentResponseDTO(
+                i.id, i.type, i.symbol, i.quantity, i.purchasePrice, i.purchaseDate, i.version)
+            from Investment i
+            where i.id = :id
+            """)
+    Optional<InvestmentResponseDTO> findResponseById(@Param("id") Long id);
     
-    List<Investment> findBySymbolContainingIgnoreCase(String symbol);
-    
-    List<Investment> findByNameContainingIgnoreCase(String name);
-    
+    List<Investment> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<Investment> findByTypeAndIdGreaterThanOrderByIdAsc(AssetType type, Long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Investment> streamAllByOrderByIdAsc();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Investment> streamByTypeOrderByIdAsc(AssetType type);
+
+    @Query("""
+            select i.type as type,
+                   sum(i.purchasePrice * i.quantity) as totalInvested,
+                   count(i) as assetCount
+            from Investment i
+            group by i.type
+            """)
+    List<InvestmentTypeTotal> summarizeByType();
+
+    @Query(value = """
+            SELECT * FROM investments
+            WHERE symbol ILIKE :pattern ESCAPE '\\'
+            ORDER BY id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Investment> searchBySymbol(@Param("pattern") String pattern, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT * FROM investments
+            WHERE name ILIKE :pattern ESCAPE '\\'
+            ORDER BY id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Investment> searchByName(@Param("pattern") String pattern, @Param("limit") int limit);
+
+    @Query("select new com.investments.portfolio.model.projection.InvestmentSearchEntry(i.id, i.symbol, i.name) from Investment i")
+    List<InvestmentSearchEntry> findAllSearchEntries();
+
+    @Modifying
+    @Query("update Investment i set i.currentPrice = :currentPrice, i.manualPrice = true, i.updatedAt = :updatedAt "
+            + "where i.id = :id")
+    int updateCurrentPrice(@Param("id") Long id,
+                           @Param("currentPrice") BigDecimal currentPrice,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
 }
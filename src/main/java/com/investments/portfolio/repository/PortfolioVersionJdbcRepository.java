@@ -0,0 +1,30 @@
+package com.investments.portfolio.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+// A single row, bumped as the last statement of each write so its lock is only held while that write commits.
+@Repository
+@RequiredArgsConstructor
+public class PortfolioVersionJdbcRepository {
+
+    private static final String SELECT_VERSION = "SELECT version FROM portfolio_version WHERE id = 1";
+
+    private static final String INCREMENT_VERSION = "UPDATE portfolio_version SET version = version + 1 WHERE id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long current() {
+        Long version = jdbcTemplate.queryForObject(SELECT_VERSION, Long.class);
+        return version == null ? 0 : version;
+    }
+
+    // Read back under the row lock just taken, so the value is the one this transaction commits.
+    @Transactional
+    public long incrementAndGet() {
+        jdbcTemplate.update(INCREMENT_VERSION);
+        return current();
+    }
+}
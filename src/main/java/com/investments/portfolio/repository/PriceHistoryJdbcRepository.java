@@ -0,0 +1,174 @@
+package com.investments.portfolio.repository;
+
+import com.investments.portfolio.model.dto.PriceCandleDTO;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.enums.PriceResolution;
+import com.investments.portfolio.model.projection.PriceQuote;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class PriceHistoryJdbcRepository {
+
+    private static final String INSERT_TICK =
+            "INSERT INTO price_history (symbol, type, quoted_at, price) VALUES (?, ?, ?, ?)";
+
+    // Standard MERGE (PostgreSQL 15+ and H2): the first tick of a bucket opens it, later ticks move high/low/close.
+    private static final String MERGE_ROLLUP = """
+            MERGE INTO price_rollups r
+            USING (VALUES (?, ?, ?, CAST(? AS TIMESTAMP WITH TIME ZONE), CAST(? AS NUMERIC(15,2))))
+                AS t (resolution, symbol, type, bucket_start, price)
+            ON r.resolution = t.resolution AND r.symbol = t.symbol AND r.type = t.type AND r.bucket_start = t.bucket_start
+            WHEN MATCHED THEN UPDATE SET
+                high_price = GREATEST(r.high_price, t.price),
+                low_price = LEAST(r.low_price, t.price),
+                close_price = t.price,
+                samples = r.samples + 1
+            WHEN NOT MATCHED THEN INSERT (resolution, symbol, type, bucket_start, open_price, high_price, low_price, close_price, samples)
+                VALUES (t.resolution, t.symbol, t.type, t.bucket_start, t.price, t.price, t.price, t.price, 1)
+            """;
+
+    private static final String SELECT_TICKS = """
+            SELECT quoted_at, price FROM price_history
+            WHERE symbol = ? AND type = ? AND quoted_at >= ? AND quoted_at < ?
+            ORDER BY quoted_at
+            """;
+
+    private static final String SELECT_ROLLUPS = """
+            SELECT bucket_start, open_price, high_price, low_price, close_price FROM price_rollups
+            WHERE resolution = ? AND symbol = ? AND type = ? AND bucket_start >= ? AND bucket_start < ?
+            ORDER BY bucket_start
+            """;
+
+    private static final String SELECT_TYPES_BY_SYMBOL =
+            "SELECT DISTINCT type FROM price_rollups WHERE resolution = ? AND symbol = ?";
+
+    private static final String SELECT_PARTITIONS = """
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = 'price_history'
+            """;
+
+    private static final String PARTITION_PREFIX = "price_history_p";
+
+    private static final RowMapper<PriceCandleDTO> CANDLE_MAPPER = (rs, rowNum) -> new PriceCandleDTO(
+            rs.getObject(1, OffsetDateTime.class).toInstant(),
+            rs.getBigDecimal(2),
+            rs.getBigDecimal(3),
+            rs.getBigDecimal(4),
+            rs.getBigDecimal(5));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public int append(List<PriceQuote> quotes, int batchSize) {
+        if (quotes.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_TICK, quotes, batchSize, (ps, quote) -> {
+            ps.setString(1, quote.symbol().symbol());
+            ps.setString(2, quote.symbol().type().name());
+            ps.setObject(3, utc(quote.quotedAt()));
+            ps.setBigDecimal(4, quote.price());
+        });
+        for (PriceResolution resolution : PriceResolution.ROLLUPS) {
+            jdbcTemplate.batchUpdate(MERGE_ROLLUP, quotes, batchSize, (ps, quote) -> {
+                ps.setString(1, resolution.code());
+                ps.setString(2, quote.symbol().symbol());
+                ps.setString(3, quote.symbol().type().name());
+                ps.setObject(4, utc(resolution.bucketStart(quote.quotedAt())));
+                ps.setBigDecimal(5, quote.price());
+            });
+        }
+        return quotes.size();
+    }
+
+    public List<PriceCandleDTO> findTicks(String symbol, AssetType type, Instant from, Instant to) {
+        return jdbcTemplate.query(SELECT_TICKS, (rs, rowNum) -> {
+            BigDecimal price = rs.getBigDecimal(2);
+            return new PriceCandleDTO(rs.getObject(1, OffsetDateTime.class).toInstant(), price, price, price, price);
+        }, symbol, type.name(), utc(from), utc(to));
+    }
+
+    public List<PriceCandleDTO> findRollups(PriceResolution resolution, String symbol, AssetType type,
+                                            Instant from, Instant to) {
+        return jdbcTemplate.query(SELECT_ROLLUPS, CANDLE_MAPPER,
+                resolution.code(), symbol, type.name(), utc(from), utc(to));
+    }
+
+    public List<AssetType> findTypesBySymbol(String symbol) {
+        return jdbcTemplate.query(SELECT_TYPES_BY_SYMBOL,
+                (rs, rowNum) -> AssetType.valueOf(rs.getString(1)),
+                PriceResolution.DAY.code(), symbol);
+    }
+
+    public int deleteTicksBefore(Instant cutoff) {
+        return jdbcTemplate.update("DELETE FROM price_history WHERE quoted_at < ?", utc(cutoff));
+    }
+
+    public int deleteRollupsBefore(PriceResolution resolution, Instant cutoff) {
+        return jdbcTemplate.update("DELETE FROM price_rollups WHERE resolution = ? AND bucket_start < ?",
+                resolution.code(), utc(cutoff));
+    }
+
+    // PostgreSQL only: monthly partitions of price_history.
+
+    // Ticks of a month without a partition land in price_history_default, and a partition cannot be attached over
+    // rows still in DEFAULT. They are moved into the new partition before attaching it, in one transaction, with
+    // DEFAULT locked so no tick for the month slips in between. Returns the number of ticks moved, or -1 when the
+    // partition already existed.
+    @Transactional
+    public int createMonthlyPartition(YearMonth month) {
+        if (findMonthlyPartitions().contains(month)) {
+            return -1;
+        }
+        String partition = partitionName(month);
+        String from = "'" + month.atDay(1) + " 00:00:00+00'";
+        String to = "'" + month.plusMonths(1).atDay(1) + " 00:00:00+00'";
+        jdbcTemplate.execute("LOCK TABLE price_history_default IN ACCESS EXCLUSIVE MODE");
+        jdbcTemplate.execute("CREATE TABLE " + partition
+                + " (LIKE price_history INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM price_history_default"
+                + " WHERE quoted_at >= " + from + " AND quoted_at < " + to
+                + " RETURNING symbol, type, quoted_at, price)"
+                + " INSERT INTO " + partition + " (symbol, type, quoted_at, price)"
+                + " SELECT symbol, type, quoted_at, price FROM moved");
+        jdbcTemplate.execute("ALTER TABLE price_history ATTACH PARTITION " + partition
+                + " FOR VALUES FROM (" + from + ") TO (" + to + ")");
+        return moved;
+    }
+
+    public List<YearMonth> findMonthlyPartitions() {
+        return jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class)
+                .stream()
+                .filter(name -> name.matches(PARTITION_PREFIX + "\\d{4}_\\d{2}"))
+                .map(name -> YearMonth.of(
+                        Integer.parseInt(name.substring(PARTITION_PREFIX.length(), PARTITION_PREFIX.length() + 4)),
+                        Integer.parseInt(name.substring(PARTITION_PREFIX.length() + 5))))
+                .toList();
+    }
+
+    public void dropMonthlyPartition(YearMonth month) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(month));
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + String.format("%04d_%02d", month.getYear(), month.getMonthValue());
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,61 @@
+package com.investments.portfolio.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+// Expiry is computed from the database clock, so nodes with skewed clocks still agree on when a lease ends.
+@Repository
+@RequiredArgsConstructor
+public class SchedulerLeaseJdbcRepository {
+
+    private static final String INSERT_IF_ABSENT =
+            "INSERT INTO scheduler_leases (name, fencing_token) SELECT ?, 0 "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM scheduler_leases WHERE name = ?)";
+
+    // Taken when free, expired or already held by the owner. A renewal keeps the token; any other acquisition
+    // moves it forward so writes still carrying the previous token are rejected.
+    private static final String ACQUIRE =
+            "UPDATE scheduler_leases SET "
+                    + "fencing_token = CASE WHEN owner = ? AND expires_at > CURRENT_TIMESTAMP "
+                    + "THEN fencing_token ELSE fencing_token + 1 END, "
+                    + "owner = ?, "
+                    + "expires_at = CURRENT_TIMESTAMP + CAST(? AS DOUBLE PRECISION) * INTERVAL '1' SECOND "
+                    + "WHERE name = ? AND (owner IS NULL OR owner = ? OR expires_at <= CURRENT_TIMESTAMP)";
+
+    private static final String SELECT_TOKEN =
+            "SELECT fencing_token FROM scheduler_leases WHERE name = ? AND owner = ?";
+
+    private static final String RELEASE =
+            "UPDATE scheduler_leases SET expires_at = CURRENT_TIMESTAMP WHERE name = ? AND owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void createIfAbsent(String name) {
+        try {
+            jdbcTemplate.update(INSERT_IF_ABSENT, name, name);
+        } catch (DuplicateKeyException e) {
+            // Another node created it first.
+        }
+    }
+
+    @Transactional
+    public OptionalLong tryAcquire(String name, String owner, Duration lease) {
+        int updated = jdbcTemplate.update(ACQUIRE, owner, owner, lease.toMillis() / 1000.0, name, owner);
+        if (updated == 0) {
+            return OptionalLong.empty();
+        }
+        List<Long> tokens = jdbcTemplate.queryForList(SELECT_TOKEN, Long.class, name, owner);
+        return tokens.isEmpty() ? OptionalLong.empty() : OptionalLong.of(tokens.get(0));
+    }
+
+    public void release(String name, String owner) {
+        jdbcTemplate.update(RELEASE, name, owner);
+    }
+}
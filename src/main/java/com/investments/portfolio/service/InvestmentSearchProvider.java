@@ -0,0 +1,17 @@
+package com.investments.portfolio.service;
+
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.projection.InvestmentSearchEntry;
+
+import java.util.List;
+
+public interface InvestmentSearchProvider {
+
+    List<Investment> searchBySymbol(String query, int limit);
+
+    List<Investment> searchByName(String query, int limit);
+
+    void recordSaved(List<InvestmentSearchEntry> entries);
+
+    void recordRemoved(Long id);
+}
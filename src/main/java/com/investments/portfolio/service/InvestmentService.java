@@ -1,30 +1,42 @@
 package com.investments.portfolio.service;
 
+import com.investments.portfolio.model.dto.BatchCreateResultDTO;
+import com.investments.portfolio.model.dto.InvestmentPageDTO;
 import com.investments.portfolio.model.dto.InvestmentRequestDTO;
 import com.investments.portfolio.model.dto.InvestmentResponseDTO;
 import com.investments.portfolio.model.dto.SummaryDTO;
 import com.investments.portfolio.model.enums.AssetType;
 
 import java.math.BigDecimal;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface InvestmentService {
     
     InvestmentResponseDTO createInvestment(InvestmentRequestDTO requestDTO);
+
+    BatchCreateResultDTO createInvestments(List<InvestmentRequestDTO> requests);
+
+    BatchCreateResultDTO importInvestments(Iterator<InvestmentRequestDTO> requests);
     
     List<InvestmentResponseDTO> getAllInvestments();
     
     List<InvestmentResponseDTO> getInvestmentsByType(AssetType type);
+
+    InvestmentPageDTO getInvestmentsPage(AssetType type, Long cursor, Integer size);
+
+    void streamInvestments(AssetType type, Consumer<InvestmentResponseDTO> consumer);
     
     InvestmentResponseDTO getInvestmentById(Long id);
     
-    InvestmentResponseDTO updateInvestment(Long id, InvestmentRequestDTO requestDTO);
+    InvestmentResponseDTO updateInvestment(Long id, InvestmentRequestDTO requestDTO, Long expectedVersion);
     
-    void deleteInvestment(Long id);
+    void deleteInvestment(Long id, Long expectedVersion);
     
     SummaryDTO getSummary();
     
-    InvestmentResponseDTO updateMarketPrice(Long id, BigDecimal currentPrice);
+    void updateMarketPrice(Long id, BigDecimal currentPrice);
     
-    List<InvestmentResponseDTO> searchInvestments(String symbol, String name);
+    List<InvestmentResponseDTO> searchInvestments(String symbol, String name, Integer limit);
 }
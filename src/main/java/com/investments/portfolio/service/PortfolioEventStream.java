@@ -0,0 +1,13 @@
+package com.investments.portfolio.service;
+
+import com.investments.portfolio.model.projection.PriceQuote;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+
+public interface PortfolioEventStream {
+
+    SseEmitter subscribe();
+
+    void publishPrices(Collection<PriceQuote> quotes);
+}
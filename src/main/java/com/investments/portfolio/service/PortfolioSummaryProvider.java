@@ -0,0 +1,28 @@
+package com.investments.portfolio.service;
+
+import com.investments.portfolio.model.dto.SummaryDTO;
+import com.investments.portfolio.model.enums.AssetType;
+
+import java.math.BigDecimal;
+
+public interface PortfolioSummaryProvider {
+
+    SummaryDTO getSummary();
+
+    void recordAdded(AssetType type, BigDecimal invested);
+
+    void recordAdded(AssetType type, BigDecimal invested, int positions);
+
+    void recordRemoved(AssetType type, BigDecimal invested);
+
+    /**
+     * Called before a transaction whose deltas are recorded after commit goes to the database, once all of its
+     * statements have run so that the commit itself no longer waits on row locks; paired with
+     * {@link #commitFinished()} once those deltas have been recorded or the transaction rolled back.
+     */
+    default void commitStarting() {
+    }
+
+    default void commitFinished() {
+    }
+}
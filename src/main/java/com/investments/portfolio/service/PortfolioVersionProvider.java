@@ -0,0 +1,9 @@
+package com.investments.portfolio.service;
+
+public interface PortfolioVersionProvider {
+
+    String currentETag();
+
+    // Inside a transaction the new version is served only once it commits, and a failure rolls the write back.
+    void increment();
+}
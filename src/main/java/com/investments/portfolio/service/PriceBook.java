@@ -0,0 +1,18 @@
+package com.investments.portfolio.service;
+
+import com.investments.portfolio.model.projection.MarketSymbol;
+import com.investments.portfolio.model.projection.PriceQuote;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface PriceBook {
+
+    Optional<PriceQuote> quote(MarketSymbol symbol);
+
+    Map<MarketSymbol, PriceQuote> snapshot();
+
+    List<PriceQuote> publish(Map<MarketSymbol, BigDecimal> prices);
+}
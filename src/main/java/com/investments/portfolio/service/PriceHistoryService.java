@@ -0,0 +1,11 @@
+package com.investments.portfolio.service;
+
+import com.investments.portfolio.model.dto.PriceHistoryDTO;
+import com.investments.portfolio.model.enums.AssetType;
+
+import java.time.Instant;
+
+public interface PriceHistoryService {
+
+    PriceHistoryDTO getHistory(String symbol, AssetType type, Instant from, Instant to, String resolution);
+}
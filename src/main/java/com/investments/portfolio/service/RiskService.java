@@ -0,0 +1,8 @@
+package com.investments.portfolio.service;
+
+import com.investments.portfolio.model.dto.RiskDTO;
+
+public interface RiskService {
+
+    RiskDTO getRisk(Integer horizonDays, Integer paths, Double confidence, Long seed);
+}
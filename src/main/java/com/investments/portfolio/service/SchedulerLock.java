@@ -0,0 +1,11 @@
+package com.investments.portfolio.service;
+
+import com.investments.portfolio.model.projection.FencingToken;
+
+import java.util.Optional;
+
+public interface SchedulerLock {
+
+    // Takes or renews the lease on a scheduled task for this node; empty while another node holds it.
+    Optional<FencingToken> tryAcquire(String task);
+}
@@ -0,0 +1,9 @@
+package com.investments.portfolio.service;
+
+import com.investments.portfolio.model.dto.ValuationDTO;
+import com.investments.portfolio.model.enums.AssetType;
+
+public interface ValuationService {
+
+    ValuationDTO getValuation(AssetType type, boolean includePositions);
+}
@@ -0,0 +1,167 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.service.MarketDataService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+@Service
+@Primary
+public class CachingMarketDataService implements MarketDataService {
+
+    private final MarketDataService delegate;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final LongSupplier nanoClock;
+
+    private final Map<QuoteKey, CachedQuote> quotes = new ConcurrentHashMap<>();
+
+    private final Queue<CachedQuote> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public CachingMarketDataService(
+            @Qualifier("simulationMarketDataService") MarketDataService delegate,
+            @Value("${app.market-data.cache.ttl-ms:55000}") long ttlMs,
+            @Value("${app.market-data.cache.max-size:10000}") int maxSize) {
+        this(delegate, ttlMs, maxSize, System::nanoTime);
+    }
+
+    CachingMarketDataService(MarketDataService delegate, long ttlMs, int maxSize, LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.maxSize = maxSize;
+        this.nanoClock = nanoClock;
+    }
+
+    // The delegate is called outside any map lock: the first caller installs a pending quote and loads it, concurrent
+    // callers for the same key wait on that quote, and callers for other keys are never held up.
+    @Override
+    public BigDecimal getCurrentPrice(String symbol, AssetType assetType) {
+        QuoteKey key = new QuoteKey(normalizeSymbol(symbol), assetType);
+
+        while (true) {
+            CachedQuote cached = quotes.get(key);
+            if (cached != null && !cached.isExpired(nanoClock.getAsLong())) {
+                hits.incrementAndGet();
+                return cached.join();
+            }
+            CachedQuote pending = new CachedQuote(key);
+            boolean installed = cached == null
+                    ? quotes.putIfAbsent(key, pending) == null
+                    : quotes.replace(key, cached, pending);
+            if (installed) {
+                misses.incrementAndGet();
+                return load(pending);
+            }
+        }
+    }
+
+    @Override
+    public void updateAllMarketPrices() {
+        delegate.updateAllMarketPrices();
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats(hits.get(), misses.get(), evictions.get(), quotes.size());
+    }
+
+    private BigDecimal load(CachedQuote pending) {
+        QuoteKey key = pending.key();
+        BigDecimal price;
+        try {
+            price = delegate.getCurrentPrice(key.symbol(), key.assetType());
+        } catch (RuntimeException | Error e) {
+            quotes.remove(key, pending);
+            pending.price().completeExceptionally(e);
+            throw e;
+        }
+        pending.complete(price, nanoClock.getAsLong() + ttlNanos);
+        insertionOrder.add(pending);
+        evict();
+        return price;
+    }
+
+    // Quotes share one TTL, so insertion order is expiry order: each quote is queued once and dequeued once,
+    // keeping the work per miss constant on average instead of scanning and sorting the whole map.
+    private void evict() {
+        long now = nanoClock.getAsLong();
+        CachedQuote oldest;
+        while ((oldest = insertionOrder.peek()) != null
+                && (quotes.size() > maxSize || oldest.isExpired(now))) {
+            oldest = insertionOrder.poll();
+            // A quote replaced after expiring is no longer mapped and just leaves the queue.
+            if (oldest != null && quotes.remove(oldest.key(), oldest)) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private String normalizeSymbol(String raw) {
+        return raw == null ? "" : raw.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public record CacheStats(long hits, long misses, long evictions, int size) {
+    }
+
+    private record QuoteKey(String symbol, AssetType assetType) {
+    }
+
+    private static final class CachedQuote {
+
+        private final QuoteKey key;
+        private final CompletableFuture<BigDecimal> price = new CompletableFuture<>();
+        private volatile long expiresAtNanos;
+
+        CachedQuote(QuoteKey key) {
+            this.key = key;
+        }
+
+        QuoteKey key() {
+            return key;
+        }
+
+        CompletableFuture<BigDecimal> price() {
+            return price;
+        }
+
+        void complete(BigDecimal value, long expiresAt) {
+            expiresAtNanos = expiresAt;
+            price.complete(value);
+        }
+
+        // A quote still loading is fresh: callers wait for it rather than start a second load.
+        boolean isExpired(long now) {
+            return price.isDone() && now - expiresAtNanos >= 0;
+        }
+
+        BigDecimal join() {
+            try {
+                return price.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.projection.MarketSymbol;
+import com.investments.portfolio.model.projection.PriceQuote;
+import com.investments.portfolio.repository.InvestmentPriceJdbcRepository;
+import com.investments.portfolio.service.PriceBook;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Readers go straight to ConcurrentHashMap.get (no locking); quotes are immutable and replaced whole,
+// so a reader sees either the previous or the new quote for a symbol, never a mix.
+@Component
+@RequiredArgsConstructor
+public class ConcurrentPriceBook implements PriceBook {
+
+    private final InvestmentPriceJdbcRepository priceRepository;
+
+    private final Map<MarketSymbol, PriceQuote> quotes = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void initialize() {
+        priceRepository.findLatestPrices().forEach(quote -> quotes.putIfAbsent(quote.symbol(), quote));
+    }
+
+    @Override
+    public Optional<PriceQuote> quote(MarketSymbol symbol) {
+        return Optional.ofNullable(quotes.get(symbol));
+    }
+
+    @Override
+    public Map<MarketSymbol, PriceQuote> snapshot() {
+        return Map.copyOf(quotes);
+    }
+
+    @Override
+    public List<PriceQuote> publish(Map<MarketSymbol, BigDecimal> prices) {
+        Instant now = Instant.now();
+        List<PriceQuote> published = new ArrayList<>(prices.size());
+        prices.forEach((symbol, price) -> published.add(quotes.compute(symbol, (key, previous) ->
+                new PriceQuote(key, price, now, previous == null ? 1 : previous.version() + 1))));
+        return published;
+    }
+}
@@ -0,0 +1,65 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.dto.SummaryDTO;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.projection.InvestmentTypeTotal;
+import com.investments.portfolio.repository.InvestmentRepository;
+import com.investments.portfolio.service.PortfolioSummaryProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.portfolio.summary.mode", havingValue = "database")
+public class DatabasePortfolioSummaryProvider implements PortfolioSummaryProvider {
+
+    private final InvestmentRepository investmentRepository;
+
+    @Override
+    public SummaryDTO getSummary() {
+        return toSummary(investmentRepository.summarizeByType());
+    }
+
+    @Override
+    public void recordAdded(AssetType type, BigDecimal invested) {
+    }
+
+    @Override
+    public void recordAdded(AssetType type, BigDecimal invested, int positions) {
+    }
+
+    @Override
+    public void recordRemoved(AssetType type, BigDecimal invested) {
+    }
+
+    static SummaryDTO toSummary(List<InvestmentTypeTotal> rows) {
+        Map<AssetType, BigDecimal> totalByType = new EnumMap<>(AssetType.class);
+        BigDecimal totalInvested = BigDecimal.ZERO;
+        long assetCount = 0;
+
+        for (InvestmentTypeTotal row : rows) {
+            BigDecimal total = row.getTotalInvested() == null ? BigDecimal.ZERO : row.getTotalInvested();
+            totalInvested = totalInvested.add(total);
+            assetCount += row.getAssetCount();
+            if (row.getType() != null) {
+                totalByType.merge(row.getType(), total, BigDecimal::add);
+            }
+        }
+
+        for (AssetType type : AssetType.values()) {
+            totalByType.putIfAbsent(type, BigDecimal.ZERO);
+        }
+
+        return SummaryDTO.builder()
+                .totalInvested(totalInvested)
+                .totalByType(totalByType)
+                .assetCount(Math.toIntExact(assetCount))
+                .build();
+    }
+}
@@ -0,0 +1,211 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.dto.PositionValuationDTO;
+import com.investments.portfolio.model.dto.ValuationDTO;
+import com.investments.portfolio.model.dto.ValuationTotalDTO;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.repository.InvestmentPriceJdbcRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-pass valuation on scaled longs. Quantities arrive in 1/10000 units and prices in cents, so
+ * {@code quantity * price} is exact in millionths ("micros"), the scale {@link
+ * com.investments.portfolio.model.entity.Investment#currentValue()} produces. Rounding happens only on output and
+ * reproduces the entity's {@code BigDecimal} results:
+ * <ul>
+ *     <li>money is rounded HALF_UP to 2 decimals from the exact micros;</li>
+ *     <li>the percentage is {@code profitLoss / invested} rounded HALF_UP to 4 decimals and then multiplied by 100,
+ *     as in {@code Investment.profitLossPercentage()}, and zero when nothing was invested.</li>
+ * </ul>
+ * A missing current price counts as zero, like the entity. Totals stay exact: a running long spills into a
+ * {@code BigDecimal} only when it would overflow, and a position whose value does not fit a long is computed with
+ * {@code BigDecimal} instead.
+ */
+final class FixedPointValuation {
+
+    private static final long MICROS_PER_CENT = 10_000;
+    private static final long RATIO_SCALE = 10_000;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final Totals total = new Totals();
+    private final Map<AssetType, Totals> totalsByType = new EnumMap<>(AssetType.class);
+    private final List<PositionValuationDTO> positions;
+
+    FixedPointValuation(boolean includePositions) {
+        this.positions = includePositions ? new ArrayList<>() : null;
+    }
+
+    void add(long id, AssetType type, String symbol, long quantityUnits, long purchaseCents, long currentCents) {
+        boolean priced = currentCents != InvestmentPriceJdbcRepository.NO_PRICE;
+        long priceCents = priced ? currentCents : 0;
+        Totals typeTotals = totalsByType.computeIfAbsent(type, key -> new Totals());
+
+        long market;
+        long invested;
+        try {
+            market = Math.multiplyExact(quantityUnits, priceCents);
+            invested = Math.multiplyExact(quantityUnits, purchaseCents);
+        } catch (ArithmeticException overflow) {
+            addExact(id, type, symbol, quantityUnits, purchaseCents, priceCents, priced, typeTotals);
+            return;
+        }
+        total.add(market, invested);
+        typeTotals.add(market, invested);
+
+        if (positions != null) {
+            BigDecimal profitLoss;
+            BigDecimal percentage;
+            try {
+                long difference = Math.subtractExact(market, invested);
+                profitLoss = money(difference);
+                percentage = percentage(difference, invested);
+            } catch (ArithmeticException overflow) {
+                BigDecimal exactDifference = BigDecimal.valueOf(market).subtract(BigDecimal.valueOf(invested));
+                profitLoss = money(exactDifference);
+                percentage = percentage(exactDifference, BigDecimal.valueOf(invested));
+            }
+            positions.add(PositionValuationDTO.builder()
+                    .id(id)
+                    .type(type)
+                    .symbol(symbol)
+                    .quantity(BigDecimal.valueOf(quantityUnits, 4))
+                    .currentPrice(priced ? BigDecimal.valueOf(currentCents, 2) : null)
+                    .marketValue(money(market))
+                    .investedValue(money(invested))
+                    .profitLoss(profitLoss)
+                    .profitLossPercentage(percentage)
+                    .build());
+        }
+    }
+
+    ValuationDTO toDTO() {
+        Map<AssetType, ValuationTotalDTO> byType = new EnumMap<>(AssetType.class);
+        totalsByType.forEach((type, totals) -> byType.put(type, totals.toDTO()));
+        return ValuationDTO.builder()
+                .total(total.toDTO())
+                .totalByType(byType)
+                .positions(positions)
+                .build();
+    }
+
+    private void addExact(long id, AssetType type, String symbol, long quantityUnits, long purchaseCents,
+                          long priceCents, boolean priced, Totals typeTotals) {
+        BigDecimal quantity = BigDecimal.valueOf(quantityUnits);
+        BigDecimal market = quantity.multiply(BigDecimal.valueOf(priceCents));
+        BigDecimal invested = quantity.multiply(BigDecimal.valueOf(purchaseCents));
+        total.add(market, invested);
+        typeTotals.add(market, invested);
+
+        if (positions != null) {
+            BigDecimal difference = market.subtract(invested);
+            positions.add(PositionValuationDTO.builder()
+                    .id(id)
+                    .type(type)
+                    .symbol(symbol)
+                    .quantity(BigDecimal.valueOf(quantityUnits, 4))
+                    .currentPrice(priced ? BigDecimal.valueOf(priceCents, 2) : null)
+                    .marketValue(money(market))
+                    .investedValue(money(invested))
+                    .profitLoss(money(difference))
+                    .profitLossPercentage(percentage(difference, invested))
+                    .build());
+        }
+    }
+
+    static BigDecimal money(long micros) {
+        return BigDecimal.valueOf(divideHalfUp(micros, MICROS_PER_CENT), 2);
+    }
+
+    static BigDecimal percentage(long profitLossMicros, long investedMicros) {
+        if (investedMicros <= 0) {
+            return BigDecimal.ZERO;
+        }
+        long ratio = divideHalfUp(Math.multiplyExact(profitLossMicros, RATIO_SCALE), investedMicros);
+        return BigDecimal.valueOf(Math.multiplyExact(ratio, 100L), 4);
+    }
+
+    /**
+     * Rounds {@code dividend / divisor} HALF_UP (ties away from zero), the way {@link RoundingMode#HALF_UP} does.
+     * The divisor must be positive.
+     */
+    static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder >= divisor - remainder) {
+            quotient += dividend < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    private static BigDecimal money(BigDecimal micros) {
+        return micros.movePointLeft(6).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal percentage(BigDecimal profitLossMicros, BigDecimal investedMicros) {
+        if (investedMicros.signum() <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return profitLossMicros.divide(investedMicros, 4, RoundingMode.HALF_UP).multiply(HUNDRED);
+    }
+
+    private static final class Totals {
+
+        private int positionCount;
+        private final ExactSum market = new ExactSum();
+        private final ExactSum invested = new ExactSum();
+
+        void add(long marketMicros, long investedMicros) {
+            positionCount++;
+            market.add(marketMicros);
+            invested.add(investedMicros);
+        }
+
+        void add(BigDecimal marketMicros, BigDecimal investedMicros) {
+            positionCount++;
+            market.add(marketMicros);
+            invested.add(investedMicros);
+        }
+
+        ValuationTotalDTO toDTO() {
+            BigDecimal marketMicros = market.value();
+            BigDecimal investedMicros = invested.value();
+            BigDecimal difference = marketMicros.subtract(investedMicros);
+            return ValuationTotalDTO.builder()
+                    .positionCount(positionCount)
+                    .marketValue(money(marketMicros))
+                    .investedValue(money(investedMicros))
+                    .profitLoss(money(difference))
+                    .profitLossPercentage(percentage(difference, investedMicros))
+                    .build();
+        }
+    }
+
+    private static final class ExactSum {
+
+        private long running;
+        private BigDecimal spilled = BigDecimal.ZERO;
+
+        void add(long micros) {
+            long sum = running + micros;
+            if (((running ^ sum) & (micros ^ sum)) < 0) {
+                spilled = spilled.add(BigDecimal.valueOf(running));
+                sum = micros;
+            }
+            running = sum;
+        }
+
+        void add(BigDecimal micros) {
+            spilled = spilled.add(micros);
+        }
+
+        BigDecimal value() {
+            return spilled.add(BigDecimal.valueOf(running));
+        }
+    }
+}
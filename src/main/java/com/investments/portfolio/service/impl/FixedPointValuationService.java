@@ -0,0 +1,60 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.dto.ValuationDTO;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.projection.PriceQuote;
+import com.investments.portfolio.repository.InvestmentPriceJdbcRepository;
+import com.investments.portfolio.repository.InvestmentPriceJdbcRepository.ValuationRowHandler;
+import com.investments.portfolio.service.PriceBook;
+import com.investments.portfolio.service.ValuationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class FixedPointValuationService implements ValuationService {
+
+    private final InvestmentPriceJdbcRepository priceRepository;
+    private final PriceBook priceBook;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ValuationDTO getValuation(AssetType type, boolean includePositions) {
+        FixedPointValuation valuation = new FixedPointValuation(includePositions);
+        forEachPricedRow(type, valuation::add);
+        return valuation.toDTO();
+    }
+
+    // Streams the valuation rows with currentCents taken from the price book when it has a quote for the symbol,
+    // unless the position's price was set manually.
+    @Transactional(readOnly = true)
+    public void forEachPricedRow(AssetType type, ValuationRowHandler handler) {
+        Map<AssetType, Map<String, Long>> quotedCents = quotedCentsByType();
+        priceRepository.forEachValuationRow(type,
+                (id, rowType, symbol, quantityUnits, purchaseCents, currentCents, manualPrice) -> {
+                    Map<String, Long> quotes = quotedCents.get(rowType);
+                    Long quoted = manualPrice || quotes == null ? null : quotes.get(symbol);
+                    long cents = quoted != null ? quoted : currentCents;
+                    handler.accept(id, rowType, symbol, quantityUnits, purchaseCents, cents);
+                });
+    }
+
+    // The price book is ahead of current_price while the write-behind catches up, so it wins when it has a quote.
+    private Map<AssetType, Map<String, Long>> quotedCentsByType() {
+        Map<AssetType, Map<String, Long>> cents = new EnumMap<>(AssetType.class);
+        for (PriceQuote quote : priceBook.snapshot().values()) {
+            cents.computeIfAbsent(quote.symbol().type(), type -> new HashMap<>())
+                    .put(quote.symbol().symbol(), quote.price()
+                            .setScale(2, RoundingMode.HALF_UP)
+                            .unscaledValue()
+                            .longValueExact());
+        }
+        return cents;
+    }
+}
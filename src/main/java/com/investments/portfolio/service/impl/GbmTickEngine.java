@@ -0,0 +1,273 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.projection.MarketSymbol;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Simulated prices that evolve by geometric Brownian motion, one tick at a time. Every symbol has a slot in a set of
+ * primitive arrays (price, drift and diffusion per tick, and its own SplitMix64 generator state), so a tick is a few
+ * multiplications and an {@code exp} with no allocation and no shared generator. A symbol's generator is seeded from
+ * the engine seed and the symbol, which makes its path reproducible whatever the thread count or registration order.
+ * <p>
+ * Tick threads own fixed blocks of slots ({@link #BLOCK} slots, one cache line of prices) and advance them at
+ * {@code tick-rate} ticks per second each. Readers get the last published price without locking.
+ */
+@Component
+@Slf4j
+public class GbmTickEngine {
+
+    static final int BLOCK = 8;
+
+    private static final double SECONDS_PER_DAY = 86_400.0;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final VarHandle PRICES = MethodHandles.arrayElementVarHandle(double[].class);
+
+    private final long seed;
+    private final double tickRate;
+    private final double dailyDrift;
+    private final double dayFractionPerTick;
+    private final int threads;
+    private final long batchIntervalMs;
+    private final boolean enabled;
+    private final Counter tickCounter;
+
+    private final Map<MarketSymbol, Integer> indexes = new ConcurrentHashMap<>();
+    private final ReadWriteLock resize = new ReentrantReadWriteLock();
+    private volatile Slots slots = new Slots(4 * BLOCK);
+    private ScheduledExecutorService tickers;
+
+    @Autowired
+    public GbmTickEngine(
+            MeterRegistry meterRegistry,
+            @Value("${app.market-data.simulation.seed:0}") long seed,
+            @Value("${app.market-data.simulation.tick-rate:1000}") double tickRate,
+            @Value("${app.market-data.simulation.time-scale:1.0}") double timeScale,
+            @Value("${app.market-data.simulation.daily-drift-percentage:0.0}") double dailyDriftPercentage,
+            @Value("${app.market-data.simulation.tick-threads:1}") int threads,
+            @Value("${app.market-data.simulation.tick-batch-ms:10}") long batchIntervalMs,
+            @Value("${app.market-data.simulation.enabled:true}") boolean enabled) {
+        this.seed = seed != 0 ? seed : ThreadLocalRandom.current().nextLong();
+        this.tickRate = tickRate;
+        this.dailyDrift = dailyDriftPercentage / 100.0;
+        this.dayFractionPerTick = timeScale / (tickRate * SECONDS_PER_DAY);
+        this.threads = Math.max(1, threads);
+        this.batchIntervalMs = batchIntervalMs;
+        this.enabled = enabled;
+        this.tickCounter = Counter.builder("portfolio.market-data.simulation.ticks")
+                .description("Simulated price ticks applied")
+                .register(meterRegistry);
+    }
+
+    GbmTickEngine(long seed, double tickRate, double timeScale, double dailyDriftPercentage) {
+        this(new SimpleMeterRegistry(), seed, tickRate, timeScale, dailyDriftPercentage, 1, 10, false);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled || tickRate <= 0) {
+            return;
+        }
+        AtomicInteger counter = new AtomicInteger();
+        tickers = new ScheduledThreadPoolExecutor(threads, runnable -> {
+            Thread thread = new Thread(runnable, "price-ticks-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int shard = 0; shard < threads; shard++) {
+            tickers.scheduleAtFixedRate(new Ticker(shard), batchIntervalMs, batchIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        log.info("Price simulation ticking at {} ticks/s per symbol on {} thread(s), seed {}", tickRate, threads, seed);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (tickers != null) {
+            tickers.shutdownNow();
+        }
+    }
+
+    /**
+     * Slot of {@code symbol}, created at {@code initialPrice} with the given daily volatility (standard deviation of
+     * the daily log return) when the symbol is new.
+     */
+    public int register(MarketSymbol symbol, double initialPrice, double dailyVolatility) {
+        Integer index = indexes.get(symbol);
+        if (index != null) {
+            return index;
+        }
+        resize.writeLock().lock();
+        try {
+            index = indexes.get(symbol);
+            if (index != null) {
+                return index;
+            }
+            Slots current = slots;
+            int slot = indexes.size();
+            if (slot == current.capacity()) {
+                current = current.grow();
+            }
+            double variance = dailyVolatility * dailyVolatility;
+            current.prices[slot] = initialPrice;
+            current.drifts[slot] = (dailyDrift - variance / 2) * dayFractionPerTick;
+            current.diffusions[slot] = dailyVolatility * Math.sqrt(dayFractionPerTick);
+            // Mixed so that similar symbols start far apart in the SplitMix64 sequence instead of a few steps apart.
+            current.generators[slot] = mix(seed ^ mix(symbol.symbol().hashCode() * 31L + symbol.type().ordinal()));
+            slots = current;
+            indexes.put(symbol, slot);
+            return slot;
+        } finally {
+            resize.writeLock().unlock();
+        }
+    }
+
+    public double price(int index) {
+        return (double) PRICES.getAcquire(slots.prices, index);
+    }
+
+    public int size() {
+        return indexes.size();
+    }
+
+    // Advances every symbol by the given number of ticks on the calling thread.
+    void advance(int ticks) {
+        for (int shard = 0; shard < threads; shard++) {
+            advance(shard, ticks);
+        }
+    }
+
+    private void advance(int shard, int ticks) {
+        resize.readLock().lock();
+        try {
+            Slots current = slots;
+            int size = indexes.size();
+            int advanced = 0;
+            for (int block = shard * BLOCK; block < size; block += threads * BLOCK) {
+                int end = Math.min(block + BLOCK, size);
+                for (int i = block; i < end; i++) {
+                    current.advance(i, ticks);
+                }
+                advanced += end - block;
+            }
+            tickCounter.increment((double) ticks * advanced);
+        } finally {
+            resize.readLock().unlock();
+        }
+    }
+
+    private static final class Slots {
+
+        final double[] prices;
+        final double[] drifts;
+        final double[] diffusions;
+        final long[] generators;
+        final double[] spareNormals;
+        final boolean[] hasSpare;
+
+        Slots(int capacity) {
+            this(new double[capacity], new double[capacity], new double[capacity], new long[capacity],
+                    new double[capacity], new boolean[capacity]);
+        }
+
+        private Slots(double[] prices, double[] drifts, double[] diffusions, long[] generators,
+                      double[] spareNormals, boolean[] hasSpare) {
+            this.prices = prices;
+            this.drifts = drifts;
+            this.diffusions = diffusions;
+            this.generators = generators;
+            this.spareNormals = spareNormals;
+            this.hasSpare = hasSpare;
+        }
+
+        int capacity() {
+            return prices.length;
+        }
+
+        Slots grow() {
+            int capacity = capacity() * 2;
+            return new Slots(Arrays.copyOf(prices, capacity), Arrays.copyOf(drifts, capacity),
+                    Arrays.copyOf(diffusions, capacity), Arrays.copyOf(generators, capacity),
+                    Arrays.copyOf(spareNormals, capacity), Arrays.copyOf(hasSpare, capacity));
+        }
+
+        void advance(int i, int ticks) {
+            double logReturn = 0;
+            for (int t = 0; t < ticks; t++) {
+                logReturn += drifts[i] + diffusions[i] * nextGaussian(i);
+            }
+            PRICES.setRelease(prices, i, prices[i] * Math.exp(logReturn));
+        }
+
+        // Box-Muller on the symbol's own SplitMix64 stream; the second normal is kept for the next tick.
+        private double nextGaussian(int i) {
+            if (hasSpare[i]) {
+                hasSpare[i] = false;
+                return spareNormals[i];
+            }
+            double radius = Math.sqrt(-2.0 * Math.log(1.0 - nextDouble(i)));
+            double angle = 2.0 * Math.PI * nextDouble(i);
+            spareNormals[i] = radius * Math.sin(angle);
+            hasSpare[i] = true;
+            return radius * Math.cos(angle);
+        }
+
+        private double nextDouble(int i) {
+            return (mix(generators[i] += GOLDEN_GAMMA) >>> 11) * 0x1.0p-53;
+        }
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private final class Ticker implements Runnable {
+
+        private final int shard;
+        private long lastNanos = System.nanoTime();
+        private double owed;
+
+        Ticker(int shard) {
+            this.shard = shard;
+        }
+
+        @Override
+        public void run() {
+            long now = System.nanoTime();
+            // Catch up on the ticks the schedule owes, but never more than one second's worth after a stall.
+            owed = Math.min(owed + (now - lastNanos) * tickRate / 1e9, tickRate);
+            lastNanos = now;
+            int ticks = (int) owed;
+            if (ticks == 0) {
+                return;
+            }
+            owed -= ticks;
+            try {
+                advance(shard, ticks);
+            } catch (RuntimeException e) {
+                log.warn("Price simulation tick failed", e);
+            }
+        }
+    }
+}
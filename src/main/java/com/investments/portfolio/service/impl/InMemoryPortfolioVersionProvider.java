@@ -0,0 +1,39 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.service.PortfolioVersionProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Single node only: a write on another node does not move this counter.
+@Component
+@ConditionalOnProperty(name = "app.portfolio.version.mode", havingValue = "memory")
+public class InMemoryPortfolioVersionProvider implements PortfolioVersionProvider {
+
+    // The counter restarts with the process; the boot epoch keeps ETags from an earlier run from matching.
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong version = new AtomicLong();
+
+    @Override
+    public String currentETag() {
+        return "\"" + epoch + "-" + version.get() + "\"";
+    }
+
+    @Override
+    public void increment() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                version.incrementAndGet();
+            }
+        });
+    }
+}
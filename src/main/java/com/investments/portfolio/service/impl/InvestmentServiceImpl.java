@@ -1,24 +1,50 @@
 package com.investments.portfolio.service.impl;
 
+import com.investments.portfolio.exception.BatchValidationException;
+import com.investments.portfolio.model.dto.BatchCreateResultDTO;
+import com.investments.portfolio.model.dto.InvestmentPageDTO;
 import com.investments.portfolio.model.dto.InvestmentRequestDTO;
 import com.investments.portfolio.model.dto.InvestmentResponseDTO;
 import com.investments.portfolio.model.dto.SummaryDTO;
 import com.investments.portfolio.model.entity.Investment;
 import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.projection.InvestmentSearchEntry;
+import com.investments.portfolio.model.projection.MarketSymbol;
+import com.investments.portfolio.model.projection.PriceQuote;
 import com.investments.portfolio.repository.InvestmentRepository;
+import com.investments.portfolio.service.InvestmentSearchProvider;
 import com.investments.portfolio.service.InvestmentService;
 import com.investments.portfolio.service.MarketDataService;
+import com.investments.portfolio.service.PortfolioSummaryProvider;
+import com.investments.portfolio.service.PortfolioVersionProvider;
+import com.investments.portfolio.service.PriceBook;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +54,29 @@ public class InvestmentServiceImpl implements InvestmentService {
 
     private final InvestmentRepository investmentRepository;
     private final MarketDataService marketDataService;
+    private final PriceBook priceBook;
+    private final PortfolioSummaryProvider summaryProvider;
+    private final InvestmentSearchProvider searchProvider;
+    private final PortfolioVersionProvider portfolioVersion;
+    private final Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.investments.page.default-size:100}")
+    private int defaultPageSize;
+
+    @Value("${app.investments.page.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${app.investments.batch.insert-size:1000}")
+    private int insertBatchSize;
+
+    @Value("${app.investments.search.default-limit:20}")
+    private int defaultSearchLimit;
+
+    @Value("${app.investments.search.max-limit:100}")
+    private int maxSearchLimit;
 
     @Override
     public InvestmentResponseDTO createInvestment(InvestmentRequestDTO requestDTO) {
@@ -46,37 +95,151 @@ public class InvestmentServiceImpl implements InvestmentService {
         investment.setCurrentPrice(marketPrice);
 
         Investment saved = investmentRepository.save(investment);
+        InvestmentSearchEntry searchEntry = toSearchEntry(saved);
+        onCommit(() -> {
+            summaryProvider.recordAdded(saved.getType(), saved.investedValue());
+            searchProvider.recordSaved(List.of(searchEntry));
+        });
         return mapToResponseDTO(saved);
     }
 
+    @Override
+    public BatchCreateResultDTO createInvestments(List<InvestmentRequestDTO> requests) {
+        List<BatchValidationException.Violation> violations = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            violations.addAll(validate(i, requests.get(i)));
+        }
+        if (!violations.isEmpty()) {
+            throw new BatchValidationException(violations);
+        }
+        return importInvestments(requests.iterator());
+    }
+
+    @Override
+    public BatchCreateResultDTO importInvestments(Iterator<InvestmentRequestDTO> requests) {
+        Map<MarketSymbol, Optional<BigDecimal>> marketPrices = new HashMap<>();
+        Map<AssetType, BigDecimal> investedByType = new EnumMap<>(AssetType.class);
+        Map<AssetType, Integer> positionsByType = new EnumMap<>(AssetType.class);
+        List<InvestmentSearchEntry> searchEntries = new ArrayList<>();
+        int index = 0;
+
+        while (true) {
+            InvestmentRequestDTO requestDTO;
+            try {
+                if (!requests.hasNext()) {
+                    break;
+                }
+                requestDTO = requests.next();
+            } catch (RuntimeException e) {
+                throw new BatchValidationException(List.of(
+                        new BatchValidationException.Violation(itemPath(index), "Item JSON invalido")));
+            }
+
+            List<BatchValidationException.Violation> violations = validate(index, requestDTO);
+            if (!violations.isEmpty()) {
+                throw new BatchValidationException(violations);
+            }
+
+            String symbol = normalizeSymbol(requestDTO.getSymbol());
+            BigDecimal marketPrice = marketPrices.computeIfAbsent(
+                            new MarketSymbol(symbol, requestDTO.getType()),
+                            key -> Optional.ofNullable(resolveMarketPriceOrFallback(symbol, key.type(), null)))
+                    .orElse(requestDTO.getPurchasePrice());
+
+            Investment investment = Investment.builder()
+                    .type(requestDTO.getType())
+                    .symbol(symbol)
+                    .name(symbol)
+                    .quantity(requestDTO.getQuantity())
+                    .purchasePrice(requestDTO.getPurchasePrice())
+                    .currentPrice(marketPrice)
+                    .purchaseDate(requestDTO.getPurchaseDate())
+                    .build();
+
+            entityManager.persist(investment);
+            searchEntries.add(toSearchEntry(investment));
+            investedByType.merge(investment.getType(), investment.investedValue(), BigDecimal::add);
+            positionsByType.merge(investment.getType(), 1, Integer::sum);
+            index++;
+
+            if (index % insertBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        onCommit(() -> {
+            investedByType.forEach((type, invested) ->
+                    summaryProvider.recordAdded(type, invested, positionsByType.get(type)));
+            searchProvider.recordSaved(searchEntries);
+        });
+
+        return BatchCreateResultDTO.builder()
+                .created(index)
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<InvestmentResponseDTO> getAllInvestments() {
-        return investmentRepository.findAll()
-                .stream()
-                .map(this::mapToResponseDTO)
-                .toList();
+        return investmentRepository.findAllResponses();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<InvestmentResponseDTO> getInvestmentsByType(AssetType type) {
-        return investmentRepository.findByType(type)
-                .stream()
-                .map(this::mapToResponseDTO)
-                .toList();
+        return investmentRepository.findResponsesByType(type);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public InvestmentPageDTO getInvestmentsPage(AssetType type, Long cursor, Integer size) {
+        int pageSize = Math.min(Math.max(size == null ? defaultPageSize : size, 1), maxPageSize);
+        long after = cursor == null ? 0L : cursor;
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Investment> rows = type == null
+                ? investmentRepository.findByIdGreaterThanOrderByIdAsc(after, limit)
+                : investmentRepository.findByTypeAndIdGreaterThanOrderByIdAsc(type, after, limit);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Investment> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        return InvestmentPageDTO.builder()
+                .items(page.stream().map(this::mapToResponseDTO).toList())
+                .nextCursor(hasNext ? page.get(page.size() - 1).getId() : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamInvestments(AssetType type, Consumer<InvestmentResponseDTO> consumer) {
+        try (Stream<Investment> investments = type == null
+                ? investmentRepository.streamAllByOrderByIdAsc()
+                : investmentRepository.streamByTypeOrderByIdAsc(type)) {
+            investments.forEach(investment -> {
+                consumer.accept(mapToResponseDTO(investment));
+                entityManager.detach(investment);
+            });
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
     public InvestmentResponseDTO getInvestmentById(Long id) {
-        return mapToResponseDTO(findInvestmentById(id));
+        return investmentRepository.findResponseById(id)
+                .orElseThrow(() -> notFound(id));
     }
 
     @Override
-    public InvestmentResponseDTO updateInvestment(Long id, InvestmentRequestDTO requestDTO) {
+    public InvestmentResponseDTO updateInvestment(Long id, InvestmentRequestDTO requestDTO, Long expectedVersion) {
         Investment investment = findInvestmentById(id);
+        checkVersion(investment, expectedVersion);
         String symbol = normalizeSymbol(requestDTO.getSymbol());
+        AssetType previousType = investment.getType();
+        BigDecimal previousInvested = investment.investedValue();
 
         investment.setType(requestDTO.getType());
         investment.setSymbol(symbol);
@@ -90,66 +253,59 @@ public class InvestmentServiceImpl implements InvestmentService {
             investment.setCurrentPrice(marketPrice);
         }
 
-        Investment updated = investmentRepository.save(investment);
+        // Flushed here so the response carries the new version and a concurrent edit surfaces as a conflict.
+        Investment updated = investmentRepository.saveAndFlush(investment);
+        AssetType newType = updated.getType();
+        BigDecimal newInvested = updated.investedValue();
+        InvestmentSearchEntry searchEntry = toSearchEntry(updated);
+        onCommit(() -> {
+            summaryProvider.recordRemoved(previousType, previousInvested);
+            summaryProvider.recordAdded(newType, newInvested);
+            searchProvider.recordSaved(List.of(searchEntry));
+        });
         return mapToResponseDTO(updated);
     }
 
     @Override
-    public void deleteInvestment(Long id) {
-        if (!investmentRepository.existsById(id)) {
-            throw new EntityNotFoundException("Investimento não encontrado com ID: " + id);
-        }
-        investmentRepository.deleteById(id);
+    public void deleteInvestment(Long id, Long expectedVersion) {
+        Investment investment = findInvestmentById(id);
+        checkVersion(investment, expectedVersion);
+        AssetType type = investment.getType();
+        BigDecimal invested = investment.investedValue();
+
+        investmentRepository.delete(investment);
+        onCommit(() -> {
+            summaryProvider.recordRemoved(type, invested);
+            searchProvider.recordRemoved(id);
+        });
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public SummaryDTO getSummary() {
-        List<Investment> investments = investmentRepository.findAll();
-        int assetCount = investments.size();
-
-        BigDecimal totalInvested = investments.stream()
-                .map(this::investedValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        Map<AssetType, BigDecimal> totalByType = investments.stream()
-                .filter(i -> i.getType() != null)
-                .collect(Collectors.groupingBy(
-                        Investment::getType,
-                        () -> new EnumMap<>(AssetType.class),
-                        Collectors.mapping(this::investedValue, Collectors.reducing(BigDecimal.ZERO, BigDecimal::add))
-                ));
-
-        for (AssetType type : AssetType.values()) {
-            totalByType.putIfAbsent(type, BigDecimal.ZERO);
-        }
-
-        return SummaryDTO.builder()
-                .totalInvested(totalInvested)
-                .totalByType(totalByType)
-                .assetCount(assetCount)
-                .build();
+        return summaryProvider.getSummary();
     }
 
     @Override
-    public InvestmentResponseDTO updateMarketPrice(Long id, BigDecimal currentPrice) {
-        Investment investment = findInvestmentById(id);
-        investment.setCurrentPrice(currentPrice);
-        Investment updated = investmentRepository.save(investment);
-        return mapToResponseDTO(updated);
+    public void updateMarketPrice(Long id, BigDecimal currentPrice) {
+        if (investmentRepository.updateCurrentPrice(id, currentPrice, LocalDateTime.now()) == 0) {
+            throw notFound(id);
+        }
+        onCommit(() -> { });
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<InvestmentResponseDTO> searchInvestments(String symbol, String name) {
+    public List<InvestmentResponseDTO> searchInvestments(String symbol, String name, Integer limit) {
+        int maxResults = Math.min(Math.max(limit == null ? defaultSearchLimit : limit, 1), maxSearchLimit);
         List<Investment> investments;
 
         if (symbol != null && !symbol.isBlank()) {
-            investments = investmentRepository.findBySymbolContainingIgnoreCase(symbol.trim());
+            investments = searchProvider.searchBySymbol(symbol.trim(), maxResults);
         } else if (name != null && !name.isBlank()) {
-            investments = investmentRepository.findByNameContainingIgnoreCase(name.trim());
+            investments = searchProvider.searchByName(name.trim(), maxResults);
         } else {
-            investments = investmentRepository.findAll();
+            investments = investmentRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, maxResults));
         }
 
         return investments.stream()
@@ -159,10 +315,20 @@ public class InvestmentServiceImpl implements InvestmentService {
 
     private Investment findInvestmentById(Long id) {
         return investmentRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Investimento não encontrado com ID: " + id));
+                .orElseThrow(() -> notFound(id));
+    }
+
+    private void checkVersion(Investment investment, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(investment.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Investment.class, investment.getId());
+        }
     }
 
-    private InvestmentResponseDTO mapToResponseDTO(Investment investment) {
+    private EntityNotFoundException notFound(Long id) {
+        return new EntityNotFoundException("Investimento não encontrado com ID: " + id);
+    }
+
+    InvestmentResponseDTO mapToResponseDTO(Investment investment) {
         return InvestmentResponseDTO.builder()
                 .id(investment.getId())
                 .type(investment.getType())
@@ -170,14 +336,39 @@ public class InvestmentServiceImpl implements InvestmentService {
                 .quantity(investment.getQuantity())
                 .purchasePrice(investment.getPurchasePrice())
                 .purchaseDate(investment.getPurchaseDate())
+                .version(investment.getVersion())
                 .build();
     }
 
+    private InvestmentSearchEntry toSearchEntry(Investment investment) {
+        return new InvestmentSearchEntry(investment.getId(), investment.getSymbol(), investment.getName());
+    }
+
+    private List<BatchValidationException.Violation> validate(int index, InvestmentRequestDTO requestDTO) {
+        if (requestDTO == null) {
+            return List.of(new BatchValidationException.Violation(itemPath(index), "Item nao pode ser nulo"));
+        }
+        return validator.validate(requestDTO)
+                .stream()
+                .map(violation -> new BatchValidationException.Violation(
+                        itemPath(index) + "." + violation.getPropertyPath(),
+                        violation.getMessage()))
+                .toList();
+    }
+
+    private String itemPath(int index) {
+        return "items[" + index + "]";
+    }
+
     private String normalizeSymbol(String raw) {
         return raw == null ? "" : raw.toUpperCase().trim();
     }
 
     private BigDecimal resolveMarketPriceOrFallback(String symbol, AssetType type, BigDecimal fallback) {
+        Optional<PriceQuote> quote = priceBook.quote(new MarketSymbol(symbol, type));
+        if (quote.isPresent()) {
+            return quote.get().price();
+        }
         try {
             return marketDataService.getCurrentPrice(symbol, type);
         } catch (Exception e) {
@@ -185,7 +376,37 @@ public class InvestmentServiceImpl implements InvestmentService {
         }
     }
 
-    private BigDecimal investedValue(Investment investment) {
-        return investment.getPurchasePrice().multiply(investment.getQuantity());
+    // Advances the portfolio version with the write and runs the action once it has committed.
+    private void onCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            portfolioVersion.increment();
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean bracketed;
+
+            // Flushed and versioned first: once the bracket is open the commit must not wait on a row lock, or a
+            // writer holding that row could queue behind a rebuild that is itself waiting for this commit.
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                entityManager.flush();
+                portfolioVersion.increment();
+                summaryProvider.commitStarting();
+                bracketed = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (bracketed) {
+                    summaryProvider.commitFinished();
+                }
+            }
+        });
     }
 }
\ No newline at end of file
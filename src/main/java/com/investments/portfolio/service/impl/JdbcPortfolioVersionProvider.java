@@ -0,0 +1,57 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.repository.PortfolioVersionJdbcRepository;
+import com.investments.portfolio.service.PortfolioVersionProvider;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// The version lives in the portfolio_version row, so every node serves the same ETag and a write on one node
+// invalidates the cached responses handed out by the others. Conditional GETs answer from the copy held here: a
+// local write advances it on commit, and writes made on other nodes show up within one refresh interval.
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.portfolio.version.mode", havingValue = "database", matchIfMissing = true)
+public class JdbcPortfolioVersionProvider implements PortfolioVersionProvider {
+
+    private final PortfolioVersionJdbcRepository versionRepository;
+
+    private final AtomicLong version = new AtomicLong();
+
+    @Override
+    public String currentETag() {
+        return "\"" + version.get() + "\"";
+    }
+
+    @Override
+    public void increment() {
+        long incremented = versionRepository.incrementAndGet();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            advanceTo(incremented);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                advanceTo(incremented);
+            }
+        });
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${app.portfolio.version.refresh-ms:1000}")
+    public void refresh() {
+        advanceTo(versionRepository.current());
+    }
+
+    // Commits can land out of order with the refresh, so the copy only ever moves forward.
+    private void advanceTo(long committed) {
+        version.accumulateAndGet(committed, Math::max);
+    }
+}
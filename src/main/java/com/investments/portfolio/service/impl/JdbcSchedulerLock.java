@@ -0,0 +1,96 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.projection.FencingToken;
+import com.investments.portfolio.repository.SchedulerLeaseJdbcRepository;
+import com.investments.portfolio.service.SchedulerLock;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Leases live in the scheduler_leases table. The holder renews its lease on every run, so as long as the lease
+// outlasts the schedule interval the same node keeps running the task and the others only take over once it stops.
+@Component
+@Slf4j
+public class JdbcSchedulerLock implements SchedulerLock {
+
+    private final SchedulerLeaseJdbcRepository leaseRepository;
+    private final String owner;
+    private final Duration lease;
+    private final boolean enabled;
+
+    private final Set<String> created = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> held = new ConcurrentHashMap<>();
+
+    @Autowired
+    public JdbcSchedulerLock(
+            SchedulerLeaseJdbcRepository leaseRepository,
+            @Value("${app.scheduler.node-id:}") String nodeId,
+            @Value("${app.scheduler.lease-ms:90000}") long leaseMs,
+            @Value("${app.scheduler.lease.enabled:true}") boolean enabled) {
+        this.leaseRepository = leaseRepository;
+        this.owner = nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Optional<FencingToken> tryAcquire(String task) {
+        if (!enabled) {
+            return Optional.of(FencingToken.unfenced(task));
+        }
+        if (created.add(task)) {
+            leaseRepository.createIfAbsent(task);
+        }
+        OptionalLong token = leaseRepository.tryAcquire(task, owner, lease);
+        if (token.isEmpty()) {
+            if (held.remove(task) != null) {
+                log.warn("Lost the '{}' lease; another node now runs it", task);
+            }
+            return Optional.empty();
+        }
+        Long previous = held.put(task, token.getAsLong());
+        if (previous == null || previous != token.getAsLong()) {
+            log.info("Node {} holds the '{}' lease with fencing token {}", owner, task, token.getAsLong());
+        }
+        return Optional.of(new FencingToken(task, token.getAsLong()));
+    }
+
+    // Lets another node take over on its next run instead of waiting for the lease to expire.
+    @PreDestroy
+    public void releaseAll() {
+        held.keySet().forEach(task -> {
+            try {
+                leaseRepository.release(task, owner);
+            } catch (RuntimeException e) {
+                log.debug("Could not release the '{}' lease", task, e);
+            }
+        });
+        held.clear();
+    }
+
+    String owner() {
+        return owner;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
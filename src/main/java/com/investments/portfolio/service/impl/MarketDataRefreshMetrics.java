@@ -0,0 +1,84 @@
+package com.investments.portfolio.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class MarketDataRefreshMetrics {
+
+    private static final String PREFIX = "portfolio.market-data.refresh";
+
+    private final Timer duration;
+    private final Counter symbolsPriced;
+    private final Counter rowsWritten;
+    private final Counter timeouts;
+    private final Counter failures;
+    private final Counter errors;
+    private final Counter skipped;
+    private final Counter notLeader;
+    private final Counter writeFailures;
+
+    public MarketDataRefreshMetrics(MeterRegistry registry) {
+        this.duration = Timer.builder(PREFIX + ".duration")
+                .description("Duration of each market price refresh cycle")
+                .register(registry);
+        this.symbolsPriced = Counter.builder(PREFIX + ".symbols.priced")
+                .description("Symbols priced by the refresh")
+                .register(registry);
+        this.rowsWritten = Counter.builder(PREFIX + ".rows.written")
+                .description("Investment rows whose current price was written by the write-behind")
+                .register(registry);
+        this.timeouts = Counter.builder(PREFIX + ".quote.failures")
+                .tag("reason", "timeout")
+                .description("Quote calls that timed out or failed, by reason")
+                .register(registry);
+        this.failures = Counter.builder(PREFIX + ".quote.failures")
+                .tag("reason", "error")
+                .description("Quote calls that timed out or failed, by reason")
+                .register(registry);
+        this.errors = Counter.builder(PREFIX + ".cycle.failures")
+                .description("Refresh cycles aborted by an error")
+                .register(registry);
+        this.skipped = Counter.builder(PREFIX + ".skipped")
+                .description("Refresh cycles skipped because the previous one was still running")
+                .register(registry);
+        this.notLeader = Counter.builder(PREFIX + ".not-leader")
+                .description("Refresh cycles left to the node holding the refresh lease")
+                .register(registry);
+        this.writeFailures = Counter.builder(PREFIX + ".write.failures")
+                .description("Write-behind flushes of current prices that failed and were re-queued")
+                .register(registry);
+    }
+
+    public void recordCycle(long elapsedNanos, int priced, int quoteTimeouts, int quoteFailures) {
+        duration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        symbolsPriced.increment(priced);
+        timeouts.increment(quoteTimeouts);
+        failures.increment(quoteFailures);
+    }
+
+    public void recordFailedCycle(long elapsedNanos) {
+        duration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        errors.increment();
+    }
+
+    public void recordSkipped() {
+        skipped.increment();
+    }
+
+    public void recordNotLeader() {
+        notLeader.increment();
+    }
+
+    public void recordRowsWritten(int written) {
+        rowsWritten.increment(written);
+    }
+
+    public void recordWriteFailure() {
+        writeFailures.increment();
+    }
+}
@@ -0,0 +1,176 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.exception.InvalidRiskQueryException;
+import com.investments.portfolio.model.dto.RiskDTO;
+import com.investments.portfolio.model.dto.RiskTotalDTO;
+import com.investments.portfolio.model.dto.ValuationDTO;
+import com.investments.portfolio.model.dto.ValuationTotalDTO;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.projection.MarketSymbol;
+import com.investments.portfolio.repository.InvestmentPriceJdbcRepository;
+import com.investments.portfolio.service.RiskService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@Slf4j
+public class MonteCarloRiskService implements RiskService {
+
+    private static final double MICROS = 1_000_000.0;
+
+    private final FixedPointValuationService valuationService;
+    private final SimulationMarketDataService marketDataService;
+    private final ForkJoinPool pool;
+
+    @Value("${app.risk.default-horizon-days:1}")
+    private int defaultHorizonDays;
+
+    @Value("${app.risk.max-horizon-days:30}")
+    private int maxHorizonDays;
+
+    @Value("${app.risk.default-paths:100000}")
+    private int defaultPaths;
+
+    @Value("${app.risk.max-paths:2000000}")
+    private int maxPaths;
+
+    @Value("${app.risk.default-confidence:0.95}")
+    private double defaultConfidence;
+
+    @Autowired
+    public MonteCarloRiskService(
+            FixedPointValuationService valuationService,
+            SimulationMarketDataService marketDataService,
+            @Value("${app.risk.parallelism:0}") int parallelism) {
+        this(valuationService, marketDataService,
+                new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors()));
+    }
+
+    MonteCarloRiskService(FixedPointValuationService valuationService, SimulationMarketDataService marketDataService,
+                          ForkJoinPool pool) {
+        this.valuationService = valuationService;
+        this.marketDataService = marketDataService;
+        this.pool = pool;
+    }
+
+    @Override
+    public RiskDTO getRisk(Integer horizonDays, Integer paths, Double confidence, Long seed) {
+        int horizon = horizonDays != null ? horizonDays : defaultHorizonDays;
+        int pathCount = paths != null ? paths : defaultPaths;
+        double level = confidence != null ? confidence : defaultConfidence;
+        long pathSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        validate(horizon, pathCount, level);
+
+        Exposures exposures = new Exposures();
+        FixedPointValuation valuation = new FixedPointValuation(false);
+        valuationService.forEachPricedRow(null, (id, type, symbol, quantityUnits, purchaseCents, currentCents) -> {
+            valuation.add(id, type, symbol, quantityUnits, purchaseCents, currentCents);
+            if (currentCents != InvestmentPriceJdbcRepository.NO_PRICE) {
+                exposures.add(new MarketSymbol(symbol, type), quantityUnits * (double) currentCents / MICROS);
+            }
+        });
+        ValuationDTO values = valuation.toDTO();
+
+        long start = System.nanoTime();
+        double[][] pnl = exposures.simulation(marketDataService).run(pool, horizon, pathCount, pathSeed);
+        log.debug("Simulated {} paths over {} symbols and {} days in {} ms", pathCount, exposures.size(), horizon,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        Map<AssetType, RiskTotalDTO> totalByType = new EnumMap<>(AssetType.class);
+        values.getTotalByType().forEach((type, value) -> {
+            int typeIndex = exposures.typeIndex(type);
+            double[] tail = typeIndex < 0 ? new double[2] : MonteCarloSimulation.tailRisk(pnl[1 + typeIndex], level);
+            totalByType.put(type, total(value, tail));
+        });
+
+        return RiskDTO.builder()
+                .horizonDays(horizon)
+                .paths(pathCount)
+                .confidence(BigDecimal.valueOf(level))
+                .seed(pathSeed)
+                .total(total(values.getTotal(), MonteCarloSimulation.tailRisk(pnl[0], level)))
+                .totalByType(totalByType)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void validate(int horizon, int pathCount, double level) {
+        if (horizon < 1 || horizon > maxHorizonDays) {
+            throw new InvalidRiskQueryException("'horizonDays' must be between 1 and " + maxHorizonDays + ".");
+        }
+        if (pathCount < 1 || pathCount > maxPaths) {
+            throw new InvalidRiskQueryException("'paths' must be between 1 and " + maxPaths + ".");
+        }
+        if (!(level >= 0.5 && level < 1.0)) {
+            throw new InvalidRiskQueryException("'confidence' must be at least 0.5 and below 1.");
+        }
+    }
+
+    private static RiskTotalDTO total(ValuationTotalDTO value, double[] tail) {
+        return RiskTotalDTO.builder()
+                .positionCount(value.getPositionCount())
+                .marketValue(value.getMarketValue())
+                .valueAtRisk(money(tail[0]))
+                .expectedShortfall(money(tail[1]))
+                .build();
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // Positions of the same symbol move together, so the simulation runs over one exposure per symbol.
+    private static final class Exposures {
+
+        private final Map<MarketSymbol, Double> bySymbol = new LinkedHashMap<>();
+        private final List<AssetType> types = new ArrayList<>();
+
+        void add(MarketSymbol symbol, double exposure) {
+            bySymbol.merge(symbol, exposure, Double::sum);
+            if (!types.contains(symbol.type())) {
+                types.add(symbol.type());
+            }
+        }
+
+        int size() {
+            return bySymbol.size();
+        }
+
+        int typeIndex(AssetType type) {
+            return types.indexOf(type);
+        }
+
+        MonteCarloSimulation simulation(SimulationMarketDataService marketDataService) {
+            double[] exposures = new double[bySymbol.size()];
+            double[] dailyRanges = new double[bySymbol.size()];
+            int[] typeIndexes = new int[bySymbol.size()];
+            int i = 0;
+            for (Map.Entry<MarketSymbol, Double> entry : bySymbol.entrySet()) {
+                AssetType type = entry.getKey().type();
+                exposures[i] = entry.getValue();
+                dailyRanges[i] = marketDataService.variationRange(type) / 100.0;
+                typeIndexes[i] = types.indexOf(type);
+                i++;
+            }
+            return new MonteCarloSimulation(exposures, dailyRanges, typeIndexes, types.size());
+        }
+    }
+}
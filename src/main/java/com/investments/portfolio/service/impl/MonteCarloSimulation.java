@@ -0,0 +1,145 @@
+package com.investments.portfolio.service.impl;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Monte Carlo profit and loss of a book of symbol exposures. Each day every symbol moves by a uniform draw in
+ * {@code [-range, +range]}, the model {@link SimulationMarketDataService} uses for price updates, and symbols move
+ * independently. Paths are cut into fixed chunks, each with its own {@link SplittableRandom} split from the seed
+ * before any work is forked, so a seed gives the same paths whatever the parallelism. Results go to one primitive
+ * {@code double[]} per type plus one for the whole book, indexed by path.
+ */
+final class MonteCarloSimulation {
+
+    static final int CHUNK_PATHS = 4096;
+
+    private final double[] exposures;
+    private final double[] dailyRanges;
+    private final int[] typeIndexes;
+    private final int typeCount;
+
+    MonteCarloSimulation(double[] exposures, double[] dailyRanges, int[] typeIndexes, int typeCount) {
+        this.exposures = exposures;
+        this.dailyRanges = dailyRanges;
+        this.typeIndexes = typeIndexes;
+        this.typeCount = typeCount;
+    }
+
+    /**
+     * Returns {@code typeCount + 1} buffers of {@code paths} entries: index 0 is the book, index {@code 1 + t} the
+     * exposures of type index {@code t}.
+     */
+    double[][] run(ForkJoinPool pool, int horizonDays, int paths, long seed) {
+        double[][] pnl = new double[typeCount + 1][paths];
+        int chunks = (paths + CHUNK_PATHS - 1) / CHUNK_PATHS;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[chunks];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            streams[chunk] = root.split();
+        }
+        pool.invoke(new Chunks(pnl, streams, horizonDays, paths, 0, chunks));
+        return pnl;
+    }
+
+    private void simulate(double[][] pnl, SplittableRandom random, int horizonDays, int from, int to) {
+        double[] total = pnl[0];
+        for (int path = from; path < to; path++) {
+            double pathTotal = 0;
+            for (int s = 0; s < exposures.length; s++) {
+                double range = dailyRanges[s];
+                double growth = 1.0;
+                for (int day = 0; day < horizonDays; day++) {
+                    growth *= 1.0 + range * (2.0 * random.nextDouble() - 1.0);
+                }
+                double change = exposures[s] * (growth - 1.0);
+                pnl[1 + typeIndexes[s]][path] += change;
+                pathTotal += change;
+            }
+            total[path] = pathTotal;
+        }
+    }
+
+    /**
+     * Value at risk and expected shortfall of the losses in {@code pnl} at {@code confidence}, as positive numbers
+     * when the tail loses money: VaR is the loss at the {@code 1 - confidence} quantile and ES the average of the
+     * paths at or beyond it. Selects the tail in place on the calling thread, in linear time, rather than sorting the
+     * paths; the order of the rest of {@code pnl} is left unspecified.
+     */
+    static double[] tailRisk(double[] pnl, double confidence) {
+        int tail = Math.max(1, (int) Math.ceil(pnl.length * (1.0 - confidence)));
+        select(pnl, tail - 1);
+        double sum = 0;
+        for (int i = 0; i < tail; i++) {
+            sum += pnl[i];
+        }
+        return new double[]{-pnl[tail - 1], -sum / tail};
+    }
+
+    // Quickselect: leaves the k-th smallest value at index k with nothing larger before it and nothing smaller after.
+    private static void select(double[] values, int k) {
+        int low = 0;
+        int high = values.length - 1;
+        while (low < high) {
+            double pivot = medianOfThree(values[low], values[(low + high) >>> 1], values[high]);
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    double swap = values[i];
+                    values[i++] = values[j];
+                    values[j--] = swap;
+                }
+            }
+            if (k <= j) {
+                high = j;
+            } else if (k >= i) {
+                low = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static double medianOfThree(double a, double b, double c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private final class Chunks extends RecursiveAction {
+
+        private final double[][] pnl;
+        private final SplittableRandom[] streams;
+        private final int horizonDays;
+        private final int paths;
+        private final int from;
+        private final int to;
+
+        Chunks(double[][] pnl, SplittableRandom[] streams, int horizonDays, int paths, int from, int to) {
+            this.pnl = pnl;
+            this.streams = streams;
+            this.horizonDays = horizonDays;
+            this.paths = paths;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                int start = from * CHUNK_PATHS;
+                simulate(pnl, streams[from], horizonDays, start, Math.min(start + CHUNK_PATHS, paths));
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Chunks(pnl, streams, horizonDays, paths, from, middle),
+                    new Chunks(pnl, streams, horizonDays, paths, middle, to));
+        }
+    }
+}
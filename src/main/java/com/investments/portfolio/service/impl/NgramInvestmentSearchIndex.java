@@ -0,0 +1,180 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.projection.InvestmentSearchEntry;
+import com.investments.portfolio.repository.InvestmentRepository;
+import com.investments.portfolio.service.InvestmentSearchProvider;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// Fallback for databases without pg_trgm (H2): trigram posting lists kept in id order, so a search walks
+// the rarest trigram's postings and stops after `limit` verified matches. Each list carries its own count, because
+// ConcurrentSkipListSet.size() walks the whole set.
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.investments.search.mode", havingValue = "memory")
+public class NgramInvestmentSearchIndex implements InvestmentSearchProvider {
+
+    private static final int GRAM = 3;
+
+    private final InvestmentRepository investmentRepository;
+
+    private final NavigableMap<Long, InvestmentSearchEntry> entries = new ConcurrentSkipListMap<>();
+    private final Map<String, Postings> symbolGrams = new ConcurrentHashMap<>();
+    private final Map<String, Postings> nameGrams = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void initialize() {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        entries.clear();
+        symbolGrams.clear();
+        nameGrams.clear();
+        recordSaved(investmentRepository.findAllSearchEntries());
+    }
+
+    @Override
+    public List<Investment> searchBySymbol(String query, int limit) {
+        return load(search(symbolGrams, InvestmentSearchEntry::symbol, query, limit));
+    }
+
+    @Override
+    public List<Investment> searchByName(String query, int limit) {
+        return load(search(nameGrams, InvestmentSearchEntry::name, query, limit));
+    }
+
+    @Override
+    public synchronized void recordSaved(List<InvestmentSearchEntry> saved) {
+        for (InvestmentSearchEntry entry : saved) {
+            InvestmentSearchEntry previous = entries.put(entry.id(), entry);
+            if (previous != null) {
+                unindex(previous);
+            }
+            grams(entry.symbol()).forEach(gram -> postings(symbolGrams, gram).add(entry.id()));
+            grams(entry.name()).forEach(gram -> postings(nameGrams, gram).add(entry.id()));
+        }
+    }
+
+    @Override
+    public synchronized void recordRemoved(Long id) {
+        InvestmentSearchEntry previous = entries.remove(id);
+        if (previous != null) {
+            unindex(previous);
+        }
+    }
+
+    List<Long> search(Map<String, Postings> index,
+                      Function<InvestmentSearchEntry, String> field,
+                      String query,
+                      int limit) {
+        String needle = normalize(query);
+        Iterable<Long> candidates = needle.length() < GRAM ? entries.keySet() : rarestPostings(index, needle);
+
+        List<Long> matches = new ArrayList<>(limit);
+        for (Long id : candidates) {
+            InvestmentSearchEntry entry = entries.get(id);
+            if (entry != null && normalize(field.apply(entry)).contains(needle)) {
+                matches.add(id);
+                if (matches.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private NavigableSet<Long> rarestPostings(Map<String, Postings> index, String needle) {
+        Postings rarest = null;
+        for (String gram : grams(needle)) {
+            Postings postings = index.get(gram);
+            if (postings == null) {
+                return Collections.emptyNavigableSet();
+            }
+            if (rarest == null || postings.size() < rarest.size()) {
+                rarest = postings;
+            }
+        }
+        return rarest.ids;
+    }
+
+    private List<Investment> load(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Investment> investments = new ArrayList<>(investmentRepository.findAllById(ids));
+        investments.sort(Comparator.comparing(Investment::getId));
+        return investments;
+    }
+
+    private void unindex(InvestmentSearchEntry entry) {
+        grams(entry.symbol()).forEach(gram -> removePosting(symbolGrams, gram, entry.id()));
+        grams(entry.name()).forEach(gram -> removePosting(nameGrams, gram, entry.id()));
+    }
+
+    private static Postings postings(Map<String, Postings> index, String gram) {
+        return index.computeIfAbsent(gram, key -> new Postings());
+    }
+
+    private static void removePosting(Map<String, Postings> index, String gram, Long id) {
+        index.computeIfPresent(gram, (key, postings) -> {
+            postings.remove(id);
+            return postings.size() == 0 ? null : postings;
+        });
+    }
+
+    private static Set<String> grams(String value) {
+        String normalized = normalize(value);
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    // Updated only under the index lock; searches read the count and the ids without it.
+    private static final class Postings {
+
+        private final NavigableSet<Long> ids = new ConcurrentSkipListSet<>();
+        private final AtomicInteger count = new AtomicInteger();
+
+        void add(Long id) {
+            if (ids.add(id)) {
+                count.incrementAndGet();
+            }
+        }
+
+        void remove(Long id) {
+            if (ids.remove(id)) {
+                count.decrementAndGet();
+            }
+        }
+
+        int size() {
+            return count.get();
+        }
+    }
+}
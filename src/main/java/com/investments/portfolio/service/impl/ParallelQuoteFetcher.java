@@ -0,0 +1,133 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.projection.MarketSymbol;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class ParallelQuoteFetcher {
+
+    private final long quoteTimeoutMs;
+    // Shared across fetches and released only when a worker returns, so a call that ignores its timeout keeps
+    // holding a permit and the bound covers calls left over from earlier refresh cycles too.
+    private final Semaphore permits;
+    private final ExecutorService executor;
+    private final ScheduledThreadPoolExecutor watchdog;
+
+    @Autowired
+    public ParallelQuoteFetcher(
+            @Value("${app.market-data.refresh.parallelism:8}") int parallelism,
+            @Value("${app.market-data.refresh.quote-timeout-ms:2000}") long quoteTimeoutMs) {
+        this.quoteTimeoutMs = quoteTimeoutMs;
+        this.permits = new Semaphore(parallelism);
+        // On Java 21 this can become Executors.newVirtualThreadPerTaskExecutor(); the semaphore in
+        // fetch() already bounds how many quote calls are in flight.
+        this.executor = Executors.newFixedThreadPool(parallelism, daemonThreads("quote-fetch-"));
+        this.watchdog = new ScheduledThreadPoolExecutor(1, daemonThreads("quote-watchdog-"));
+        this.watchdog.setRemoveOnCancelPolicy(true);
+    }
+
+    public QuoteBatch fetch(Collection<MarketSymbol> symbols, Function<MarketSymbol, BigDecimal> quoteSource) {
+        Map<MarketSymbol, FutureTask<BigDecimal>> pending = new LinkedHashMap<>();
+
+        try {
+            for (MarketSymbol symbol : symbols) {
+                // Every permit held by calls stuck past their timeout: leave the remaining symbols for the next cycle.
+                if (!permits.tryAcquire(quoteTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    break;
+                }
+                FutureTask<BigDecimal> task = new FutureTask<>(() -> quoteSource.apply(symbol));
+                try {
+                    executor.execute(() -> runWithTimeout(task));
+                } catch (RuntimeException e) {
+                    permits.release();
+                    throw e;
+                }
+                pending.put(symbol, task);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.values().forEach(task -> task.cancel(true));
+        }
+
+        Map<MarketSymbol, BigDecimal> prices = new LinkedHashMap<>();
+        int timeouts = 0;
+        int failures = 0;
+
+        for (Map.Entry<MarketSymbol, FutureTask<BigDecimal>> entry : pending.entrySet()) {
+            try {
+                BigDecimal price = entry.getValue().get();
+                if (price != null) {
+                    prices.put(entry.getKey(), price);
+                } else {
+                    failures++;
+                }
+            } catch (CancellationException e) {
+                timeouts++;
+            } catch (ExecutionException e) {
+                failures++;
+                log.debug("Quote lookup failed for {}", entry.getKey(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures++;
+            }
+        }
+
+        int skipped = symbols.size() - pending.size();
+        if (timeouts + failures + skipped > 0) {
+            log.warn("Quote fetch incomplete: {} priced, {} timed out, {} failed, {} not attempted",
+                    prices.size(), timeouts, failures, skipped);
+        }
+        return new QuoteBatch(prices, timeouts, failures + skipped);
+    }
+
+    // The timeout clock starts when the call does, not when it was queued.
+    private void runWithTimeout(FutureTask<BigDecimal> task) {
+        ScheduledFuture<?> timer = watchdog.schedule(() -> task.cancel(true), quoteTimeoutMs, TimeUnit.MILLISECONDS);
+        try {
+            task.run();
+        } finally {
+            timer.cancel(false);
+            permits.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        watchdog.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public record QuoteBatch(Map<MarketSymbol, BigDecimal> prices, int timeouts, int failures) {
+    }
+}
@@ -0,0 +1,189 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.dto.SummaryDTO;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.repository.InvestmentRepository;
+import com.investments.portfolio.service.PortfolioSummaryProvider;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps the portfolio summary in memory, applying each committed write as a delta and periodically rebuilding it
+ * from the database.
+ * <p>
+ * Writers hold the read side of {@link #commits} from just before their database commit until their deltas are
+ * recorded. A rebuild takes the write side only to pin its read snapshot, so every commit is either already in the
+ * summary and in the snapshot, or not in the snapshot and recorded afterwards; the latter are replayed on top of the
+ * rebuilt totals. A rebuild therefore neither loses nor double-counts a write, and steady writes never hold it off.
+ * <p>
+ * Only this node's writes arrive as deltas; writes on other nodes show up at the next reconcile. Deployments with
+ * more than one node use {@code app.portfolio.summary.mode=database}.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.portfolio.summary.mode", havingValue = "memory", matchIfMissing = true)
+public class PortfolioSummaryAggregate implements PortfolioSummaryProvider {
+
+    private final InvestmentRepository investmentRepository;
+
+    private final TransactionTemplate snapshotTransaction;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.empty());
+
+    private final ReadWriteLock commits = new ReentrantReadWriteLock(true);
+
+    // Deltas recorded since the running rebuild pinned its snapshot; null when no rebuild is running.
+    private volatile Queue<Delta> replay;
+
+    public PortfolioSummaryAggregate(InvestmentRepository investmentRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.investmentRepository = investmentRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+    }
+
+    @PostConstruct
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.portfolio.summary.reconcile-rate-ms:300000}",
+            fixedDelayString = "${app.portfolio.summary.reconcile-rate-ms:300000}")
+    public void reconcile() {
+        rebuild();
+        log.debug("Portfolio summary reconciled with the database");
+    }
+
+    @Override
+    public SummaryDTO getSummary() {
+        State current = state.get();
+        return SummaryDTO.builder()
+                .totalInvested(current.totalInvested())
+                .totalByType(new EnumMap<>(current.totalByType()))
+                .assetCount(current.assetCount())
+                .build();
+    }
+
+    @Override
+    public void recordAdded(AssetType type, BigDecimal invested) {
+        apply(new Delta(type, invested, 1));
+    }
+
+    @Override
+    public void recordAdded(AssetType type, BigDecimal invested, int positions) {
+        apply(new Delta(type, invested, positions));
+    }
+
+    @Override
+    public void recordRemoved(AssetType type, BigDecimal invested) {
+        apply(new Delta(type, invested.negate(), -1));
+    }
+
+    @Override
+    public void commitStarting() {
+        commits.readLock().lock();
+    }
+
+    @Override
+    public void commitFinished() {
+        commits.readLock().unlock();
+    }
+
+    void rebuild() {
+        State snapshot;
+        try {
+            snapshot = snapshotTransaction.execute(status -> readSnapshot());
+        } catch (RuntimeException e) {
+            replay = null;
+            throw e;
+        }
+        commits.writeLock().lock();
+        try {
+            State rebuilt = snapshot;
+            for (Delta delta : replay) {
+                rebuilt = rebuilt.plus(delta);
+            }
+            state.set(rebuilt);
+        } finally {
+            replay = null;
+            commits.writeLock().unlock();
+        }
+    }
+
+    private State readSnapshot() {
+        commits.writeLock().lock();
+        try {
+            // Any read pins the repeatable-read snapshot, and while the write lock is held no commit sits between
+            // its database commit and its recorded deltas.
+            investmentRepository.existsById(0L);
+            replay = new ConcurrentLinkedQueue<>();
+        } finally {
+            commits.writeLock().unlock();
+        }
+        SummaryDTO summary = DatabasePortfolioSummaryProvider.toSummary(investmentRepository.summarizeByType());
+        return new State(
+                summary.getTotalInvested(),
+                Collections.unmodifiableMap(summary.getTotalByType()),
+                summary.getAssetCount());
+    }
+
+    private void apply(Delta delta) {
+        commits.readLock().lock();
+        try {
+            state.updateAndGet(current -> current.plus(delta));
+            Queue<Delta> pending = replay;
+            if (pending != null) {
+                pending.add(delta);
+            }
+        } finally {
+            commits.readLock().unlock();
+        }
+    }
+
+    private static Map<AssetType, BigDecimal> zeroTotals() {
+        Map<AssetType, BigDecimal> totals = new EnumMap<>(AssetType.class);
+        for (AssetType type : AssetType.values()) {
+            totals.put(type, BigDecimal.ZERO);
+        }
+        return totals;
+    }
+
+    private record Delta(AssetType type, BigDecimal invested, int positions) {
+    }
+
+    private record State(BigDecimal totalInvested, Map<AssetType, BigDecimal> totalByType, int assetCount) {
+
+        static State empty() {
+            return new State(BigDecimal.ZERO, Collections.unmodifiableMap(zeroTotals()), 0);
+        }
+
+        State plus(Delta delta) {
+            Map<AssetType, BigDecimal> totals = new EnumMap<>(totalByType);
+            if (delta.type() != null) {
+                totals.merge(delta.type(), delta.invested(), BigDecimal::add);
+            }
+            return new State(
+                    totalInvested.add(delta.invested()),
+                    Collections.unmodifiableMap(totals),
+                    assetCount + delta.positions());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.enums.PriceResolution;
+import com.investments.portfolio.repository.PriceHistoryJdbcRepository;
+import com.investments.portfolio.service.SchedulerLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+// Runs on the node holding the maintenance lease, so nodes never race each other creating or dropping partitions.
+// A partition that cannot be created fails the run instead of leaving the month's ticks in price_history_default.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriceHistoryMaintenance {
+
+    static final String MAINTENANCE_TASK = "price-history-maintenance";
+
+    private final PriceHistoryJdbcRepository historyRepository;
+    private final SchedulerLock schedulerLock;
+    private final Clock clock = Clock.systemUTC();
+
+    @Value("${app.prices.history.partitioning.enabled:true}")
+    private boolean partitioning;
+
+    @Value("${app.prices.history.partitions-ahead:2}")
+    private int partitionsAhead;
+
+    @Value("${app.prices.history.retention.raw-days:35}")
+    private long rawRetentionDays;
+
+    @Value("${app.prices.history.retention.minute-days:35}")
+    private long minuteRetentionDays;
+
+    @Value("${app.prices.history.retention.hour-days:730}")
+    private long hourRetentionDays;
+
+    // Creates this month's partitions once the application is up rather than at the next daily run. A failure is
+    // logged and left to that run: the ticks meanwhile land in price_history_default and are moved out then.
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!partitioning || schedulerLock.tryAcquire(MAINTENANCE_TASK).isEmpty()) {
+            return;
+        }
+        try {
+            ensurePartitions();
+        } catch (RuntimeException e) {
+            log.error("Creating price history partitions at startup failed; retrying at the next scheduled run", e);
+        }
+    }
+
+    @Scheduled(cron = "${app.prices.history.maintenance-cron:0 15 0 * * *}", zone = "UTC")
+    public void maintain() {
+        if (schedulerLock.tryAcquire(MAINTENANCE_TASK).isEmpty()) {
+            log.debug("Price history maintenance skipped: another node holds the lease");
+            return;
+        }
+        ensurePartitions();
+        Instant now = clock.instant();
+        Instant rawCutoff = now.minus(Duration.ofDays(rawRetentionDays));
+
+        if (partitioning) {
+            historyRepository.findMonthlyPartitions().stream()
+                    .filter(month -> !month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant().isAfter(rawCutoff))
+                    .forEach(month -> {
+                        historyRepository.dropMonthlyPartition(month);
+                        log.info("Dropped price history partition for {}", month);
+                    });
+        }
+        int ticks = historyRepository.deleteTicksBefore(rawCutoff);
+        int minutes = historyRepository.deleteRollupsBefore(PriceResolution.MINUTE, now.minus(Duration.ofDays(minuteRetentionDays)));
+        int hours = historyRepository.deleteRollupsBefore(PriceResolution.HOUR, now.minus(Duration.ofDays(hourRetentionDays)));
+        log.info("Price history retention removed {} ticks, {} minute and {} hour buckets", ticks, minutes, hours);
+    }
+
+    private void ensurePartitions() {
+        if (!partitioning) {
+            return;
+        }
+        YearMonth current = YearMonth.now(clock);
+        for (int i = 0; i <= partitionsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            int moved = historyRepository.createMonthlyPartition(month);
+            if (moved > 0) {
+                log.warn("Created price history partition for {} late; moved {} ticks out of the default partition",
+                        month, moved);
+            } else if (moved == 0) {
+                log.info("Created price history partition for {}", month);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.projection.PriceQuote;
+import com.investments.portfolio.repository.PriceHistoryJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Appends each refresh tick to price_history (and its rollups) off the refresh thread. Ticks are written in order by
+// a single thread; if the database falls behind by more than queue-capacity ticks, the oldest queued tick is dropped.
+@Component
+@Slf4j
+public class PriceHistoryRecorder {
+
+    private final PriceHistoryJdbcRepository historyRepository;
+    private final int batchSize;
+    private final Executor writer;
+    private final Counter ticksWritten;
+    private final Counter ticksDropped;
+    private final Counter writeFailures;
+
+    @Autowired
+    public PriceHistoryRecorder(
+            PriceHistoryJdbcRepository historyRepository,
+            MeterRegistry registry,
+            @Value("${app.prices.history.batch-size:1000}") int batchSize,
+            @Value("${app.prices.history.queue-capacity:60}") int queueCapacity) {
+        this(historyRepository, registry, batchSize, null, queueCapacity);
+    }
+
+    PriceHistoryRecorder(PriceHistoryJdbcRepository historyRepository, MeterRegistry registry, int batchSize,
+                         Executor writer) {
+        this(historyRepository, registry, batchSize, writer, 0);
+    }
+
+    private PriceHistoryRecorder(PriceHistoryJdbcRepository historyRepository, MeterRegistry registry, int batchSize,
+                                 Executor writer, int queueCapacity) {
+        this.historyRepository = historyRepository;
+        this.batchSize = batchSize;
+        this.ticksWritten = Counter.builder("portfolio.price-history.ticks.written")
+                .description("Price ticks appended to price_history")
+                .register(registry);
+        this.ticksDropped = Counter.builder("portfolio.price-history.ticks.dropped")
+                .description("Refresh ticks dropped because the history writer fell behind")
+                .register(registry);
+        this.writeFailures = Counter.builder("portfolio.price-history.write.failures")
+                .description("Refresh ticks that failed to be written to price_history")
+                .register(registry);
+        this.writer = writer != null ? writer : new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "price-history-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> {
+                    // Another tick can take the freed slot first, so keep dropping the oldest until this one fits.
+                    while (!executor.isShutdown() && !executor.getQueue().offer(task)) {
+                        if (executor.getQueue().poll() != null) {
+                            ticksDropped.increment();
+                        }
+                    }
+                });
+    }
+
+    public void record(List<PriceQuote> quotes) {
+        if (quotes.isEmpty()) {
+            return;
+        }
+        writer.execute(() -> {
+            try {
+                ticksWritten.increment(historyRepository.append(quotes, batchSize));
+            } catch (RuntimeException e) {
+                writeFailures.increment();
+                log.warn("Appending {} prices to price history failed", quotes.size(), e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writer instanceof ExecutorService executor) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
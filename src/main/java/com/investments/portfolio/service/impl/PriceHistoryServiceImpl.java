@@ -0,0 +1,107 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.exception.InvalidPriceHistoryQueryException;
+import com.investments.portfolio.model.dto.PriceCandleDTO;
+import com.investments.portfolio.model.dto.PriceHistoryDTO;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.enums.PriceResolution;
+import com.investments.portfolio.repository.PriceHistoryJdbcRepository;
+import com.investments.portfolio.service.PriceHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class PriceHistoryServiceImpl implements PriceHistoryService {
+
+    private static final String AUTO = "auto";
+
+    private final PriceHistoryJdbcRepository historyRepository;
+
+    @Value("${app.prices.history.max-points:1500}")
+    private int maxPoints;
+
+    @Value("${app.prices.history.default-range-hours:24}")
+    private long defaultRangeHours;
+
+    @Value("${app.market-data.simulation.update-rate-ms:60000}")
+    private long tickIntervalMs;
+
+    @Override
+    public PriceHistoryDTO getHistory(String symbol, AssetType type, Instant from, Instant to, String resolution) {
+        String key = symbol == null ? "" : symbol.trim().toUpperCase(Locale.ROOT);
+        Instant end = to == null ? Instant.now() : to;
+        Instant start = from == null ? end.minus(Duration.ofHours(defaultRangeHours)) : from;
+        if (!start.isBefore(end)) {
+            throw new InvalidPriceHistoryQueryException("'from' must be before 'to'.");
+        }
+
+        Duration span = Duration.between(start, end);
+        PriceResolution selected = resolution == null || AUTO.equalsIgnoreCase(resolution)
+                ? finestAdequate(span)
+                : requested(resolution, span);
+
+        AssetType assetType = type != null ? type : resolveType(key);
+        List<PriceCandleDTO> points = assetType == null
+                ? List.of()
+                : selected == PriceResolution.RAW
+                        ? historyRepository.findTicks(key, assetType, start, end)
+                        : historyRepository.findRollups(selected, key, assetType, selected.bucketStart(start), end);
+
+        return PriceHistoryDTO.builder()
+                .symbol(key)
+                .type(assetType)
+                .resolution(selected)
+                .from(start)
+                .to(end)
+                .points(points)
+                .build();
+    }
+
+    // The finest rollup that still fits in max-points buckets: short ranges get minute candles, long ranges read the
+    // hour or day rollups and never touch raw ticks.
+    PriceResolution finestAdequate(Duration span) {
+        for (PriceResolution resolution : PriceResolution.ROLLUPS) {
+            if (points(span, resolution) <= maxPoints) {
+                return resolution;
+            }
+        }
+        return PriceResolution.DAY;
+    }
+
+    private PriceResolution requested(String code, Duration span) {
+        PriceResolution resolution = PriceResolution.fromCode(code)
+                .orElseThrow(() -> new InvalidPriceHistoryQueryException(
+                        "Invalid value for 'resolution'. Accepted values: " + AUTO + ", "
+                                + Arrays.stream(PriceResolution.values())
+                                .map(PriceResolution::code)
+                                .collect(Collectors.joining(", ")) + "."));
+        if (points(span, resolution) > maxPoints) {
+            throw new InvalidPriceHistoryQueryException("Range too long for resolution '" + resolution.code()
+                    + "' (more than " + maxPoints + " points). Use a coarser resolution or 'auto'.");
+        }
+        return resolution;
+    }
+
+    private AssetType resolveType(String symbol) {
+        List<AssetType> types = historyRepository.findTypesBySymbol(symbol);
+        if (types.size() > 1) {
+            throw new InvalidPriceHistoryQueryException("Symbol '" + symbol + "' is quoted as " + types
+                    + "; provide 'type'.");
+        }
+        return types.isEmpty() ? null : types.get(0);
+    }
+
+    private long points(Duration span, PriceResolution resolution) {
+        long bucketMs = resolution == PriceResolution.RAW ? tickIntervalMs : resolution.bucket().toMillis();
+        return span.toMillis() / Math.max(bucketMs, 1);
+    }
+}
@@ -0,0 +1,142 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.projection.FencingToken;
+import com.investments.portfolio.model.projection.MarketSymbol;
+import com.investments.portfolio.model.projection.PriceQuote;
+import com.investments.portfolio.model.projection.SymbolPrice;
+import com.investments.portfolio.repository.InvestmentPriceJdbcRepository;
+import com.investments.portfolio.service.PortfolioVersionProvider;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Persists published quotes to investments.current_price off the refresh thread. Pending quotes are coalesced
+// per symbol (newest version wins), so a slow database only ever sees the latest price for each symbol.
+@Component
+@Slf4j
+public class PriceWriteBehind {
+
+    private final InvestmentPriceJdbcRepository priceRepository;
+    private final MarketDataRefreshMetrics refreshMetrics;
+    private final PortfolioVersionProvider portfolioVersion;
+    private final int chunkSize;
+    private final Executor writer;
+
+    private final Map<MarketSymbol, PriceQuote> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile FencingToken fence;
+    // Only read and written by the drain, which never runs twice at once.
+    private boolean versionPending;
+
+    @Autowired
+    public PriceWriteBehind(
+            InvestmentPriceJdbcRepository priceRepository,
+            MarketDataRefreshMetrics refreshMetrics,
+            PortfolioVersionProvider portfolioVersion,
+            @Value("${app.market-data.refresh.chunk-size:500}") int chunkSize) {
+        this(priceRepository, refreshMetrics, portfolioVersion, chunkSize, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "price-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    PriceWriteBehind(InvestmentPriceJdbcRepository priceRepository,
+                     MarketDataRefreshMetrics refreshMetrics,
+                     PortfolioVersionProvider portfolioVersion,
+                     int chunkSize,
+                     Executor writer) {
+        this.priceRepository = priceRepository;
+        this.refreshMetrics = refreshMetrics;
+        this.portfolioVersion = portfolioVersion;
+        this.chunkSize = chunkSize;
+        this.writer = writer;
+    }
+
+    // Pending quotes are written under the newest fence submitted, so a node that lost the refresh lease writes nothing.
+    public void submit(Collection<PriceQuote> quotes, FencingToken fence) {
+        this.fence = fence;
+        quotes.forEach(this::enqueue);
+        if (!pending.isEmpty() && scheduled.compareAndSet(false, true)) {
+            writer.execute(this::drain);
+        }
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private void drain() {
+        boolean flushed;
+        do {
+            List<PriceQuote> batch = takePending();
+            flushed = batch.isEmpty() || write(batch);
+            scheduled.set(false);
+        } while (flushed && !pending.isEmpty() && scheduled.compareAndSet(false, true));
+    }
+
+    private List<PriceQuote> takePending() {
+        List<PriceQuote> batch = new ArrayList<>(pending.size());
+        for (MarketSymbol symbol : pending.keySet()) {
+            PriceQuote quote = pending.remove(symbol);
+            if (quote != null) {
+                batch.add(quote);
+            }
+        }
+        return batch;
+    }
+
+    private boolean write(List<PriceQuote> batch) {
+        List<SymbolPrice> prices = batch.stream()
+                .map(quote -> new SymbolPrice(quote.symbol(), quote.price()))
+                .toList();
+        try {
+            int written = priceRepository.updateCurrentPricesInChunks(prices, chunkSize, fence);
+            refreshMetrics.recordRowsWritten(written);
+            // Kept until the bump succeeds: the retried batch finds its prices already stored and writes nothing.
+            versionPending |= written > 0;
+            if (versionPending) {
+                portfolioVersion.increment();
+                versionPending = false;
+            }
+            return true;
+        } catch (RuntimeException e) {
+            // Keep the quotes for the next submit unless a newer version arrived meanwhile.
+            batch.forEach(this::enqueue);
+            refreshMetrics.recordWriteFailure();
+            log.warn("Writing {} current prices failed; retrying on next refresh", batch.size(), e);
+            return false;
+        }
+    }
+
+    private void enqueue(PriceQuote quote) {
+        pending.merge(quote.symbol(), quote, (queued, incoming) -> incoming.version() >= queued.version() ? incoming : queued);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writer instanceof ExecutorService executor) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("Price write-behind did not finish in time; {} symbols not persisted", pending.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
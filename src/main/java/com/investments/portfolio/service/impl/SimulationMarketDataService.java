@@ -1,30 +1,51 @@
 package com.investments.portfolio.service.impl;
 
-import com.investments.portfolio.model.entity.Investment;
 import com.investments.portfolio.model.enums.AssetType;
-import com.investments.portfolio.repository.InvestmentRepository;
+import com.investments.portfolio.model.projection.FencingToken;
+import com.investments.portfolio.model.projection.MarketSymbol;
+import com.investments.portfolio.model.projection.PriceQuote;
+import com.investments.portfolio.repository.InvestmentPriceJdbcRepository;
 import com.investments.portfolio.service.MarketDataService;
+import com.investments.portfolio.service.PortfolioEventStream;
+import com.investments.portfolio.service.PortfolioVersionProvider;
+import com.investments.portfolio.service.PriceBook;
+import com.investments.portfolio.service.SchedulerLock;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Random;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SimulationMarketDataService implements MarketDataService {
 
-    private final InvestmentRepository investmentRepository;
+    private final InvestmentPriceJdbcRepository priceRepository;
+    private final ObjectProvider<MarketDataService> marketDataService;
+    private final ParallelQuoteFetcher quoteFetcher;
+    private final MarketDataRefreshMetrics refreshMetrics;
+    private final PriceBook priceBook;
+    private final PriceWriteBehind priceWriteBehind;
+    private final PortfolioEventStream portfolioEvents;
+    private final PriceHistoryRecorder priceHistory;
+    private final GbmTickEngine tickEngine;
+    private final SchedulerLock schedulerLock;
+    private final PortfolioVersionProvider portfolioVersion;
 
-    private final Random random = new Random();
+    static final String REFRESH_TASK = "market-price-refresh";
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
 
     @Value("${app.market-data.simulation.price-variation-percentage:10.0}")
     private double priceVariationPercentage;
@@ -62,25 +83,72 @@ public class SimulationMarketDataService implements MarketDataService {
 
     @Override
     public BigDecimal getCurrentPrice(String symbol, AssetType assetType) {
-        String key = normalizeSymbol(symbol);
-        BigDecimal base = basePrice(assetType, key);
-        return applyVariation(base, assetType);
+        MarketSymbol key = new MarketSymbol(normalizeSymbol(symbol), assetType);
+        int index = tickEngine.register(key, initialPrice(key).doubleValue(), dailyVolatility(assetType));
+        return BigDecimal.valueOf(tickEngine.price(index)).setScale(2, RoundingMode.HALF_UP);
     }
 
     @Override
     @Scheduled(fixedRateString = "${app.market-data.simulation.update-rate-ms:60000}")
     public void updateAllMarketPrices() {
-        List<Investment> investments = investmentRepository.findAll();
-        if (investments.isEmpty()) {
+        if (!refreshing.compareAndSet(false, true)) {
+            refreshMetrics.recordSkipped();
+            log.warn("Market price refresh skipped: previous cycle still running");
             return;
         }
 
-        for (Investment inv : investments) {
-            BigDecimal newPrice = getCurrentPrice(inv.getSymbol(), inv.getType());
-            inv.setCurrentPrice(newPrice);
+        long start = System.nanoTime();
+        try {
+            Optional<FencingToken> lease = schedulerLock.tryAcquire(REFRESH_TASK);
+            if (lease.isEmpty()) {
+                refreshMetrics.recordNotLeader();
+                followLeader();
+                return;
+            }
+            MarketDataService quotes = marketDataService.getObject();
+
+            ParallelQuoteFetcher.QuoteBatch batch = quoteFetcher.fetch(
+                    priceRepository.findDistinctSymbols(),
+                    symbol -> quotes.getCurrentPrice(symbol.symbol(), symbol.type()));
+
+            List<PriceQuote> published = priceBook.publish(batch.prices());
+            portfolioEvents.publishPrices(published);
+            priceWriteBehind.submit(published, lease.get());
+            priceHistory.record(published);
+            refreshMetrics.recordCycle(System.nanoTime() - start, batch.prices().size(), batch.timeouts(), batch.failures());
+        } catch (RuntimeException e) {
+            refreshMetrics.recordFailedCycle(System.nanoTime() - start);
+            throw e;
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    // Another node refreshes prices; pick up what it wrote so this node's price book and event stream stay current.
+    private void followLeader() {
+        Map<MarketSymbol, BigDecimal> changed = new LinkedHashMap<>();
+        for (PriceQuote stored : priceRepository.findLatestPrices()) {
+            boolean same = priceBook.quote(stored.symbol())
+                    .map(quote -> quote.price().compareTo(stored.price()) == 0)
+                    .orElse(false);
+            if (!same) {
+                changed.put(stored.symbol(), stored.price());
+            }
         }
+        if (changed.isEmpty()) {
+            return;
+        }
+        portfolioEvents.publishPrices(priceBook.publish(changed));
+        portfolioVersion.increment();
+    }
 
-        investmentRepository.saveAll(investments);
+    // A new tick slot continues from the last known price (the price book is loaded from the stored prices at start),
+    // so a restart or a leader change does not snap the portfolio back to the base table.
+    private BigDecimal initialPrice(MarketSymbol symbol) {
+        return priceBook.quote(symbol)
+                .map(PriceQuote::price)
+                .filter(price -> price.signum() > 0)
+                .orElseGet(() -> basePrice(symbol.type(), symbol.symbol()));
     }
 
     private BigDecimal basePrice(AssetType type, String symbol) {
@@ -93,16 +161,12 @@ public class SimulationMarketDataService implements MarketDataService {
         };
     }
 
-    private BigDecimal applyVariation(BigDecimal basePrice, AssetType assetType) {
-        double range = variationRange(assetType);
-        double delta = (random.nextDouble() * 2.0 - 1.0) * range;
-        double multiplier = 1.0 + (delta / 100.0);
-
-        return basePrice.multiply(BigDecimal.valueOf(multiplier))
-                .setScale(2, RoundingMode.HALF_UP);
+    // Standard deviation of a uniform daily move within +/- variationRange, the model the risk simulation also uses.
+    double dailyVolatility(AssetType assetType) {
+        return variationRange(assetType) / 100.0 / Math.sqrt(3.0);
     }
 
-    private double variationRange(AssetType assetType) {
+    double variationRange(AssetType assetType) {
         return switch (assetType) {
             case CRIPTO -> priceVariationPercentage * 2.0;
             case ACAO -> priceVariationPercentage * 1.5;
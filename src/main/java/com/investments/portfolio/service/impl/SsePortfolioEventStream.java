@@ -0,0 +1,262 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.dto.PortfolioChangeDTO;
+import com.investments.portfolio.model.dto.PriceChangeDTO;
+import com.investments.portfolio.model.projection.MarketSymbol;
+import com.investments.portfolio.model.projection.PriceQuote;
+import com.investments.portfolio.service.PortfolioEventStream;
+import com.investments.portfolio.service.PortfolioSummaryProvider;
+import com.investments.portfolio.service.PortfolioVersionProvider;
+import com.investments.portfolio.service.PriceBook;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Events are buffered per subscriber and flushed on a short tick by a small sender pool, so a slow connection only
+// ever holds up its own buffer. Price changes are coalesced per symbol (latest quote wins); when a buffer is full
+// the oldest pending symbol is dropped. Portfolio changes are detected from the ETag version and sent as one
+// summary event per tick, however many writes happened in between.
+@Component
+@Slf4j
+public class SsePortfolioEventStream implements PortfolioEventStream {
+
+    private static final String PRICES_EVENT = "prices";
+    private static final String PORTFOLIO_EVENT = "portfolio";
+
+    private final PriceBook priceBook;
+    private final PortfolioSummaryProvider summaryProvider;
+    private final PortfolioVersionProvider portfolioVersion;
+    private final Supplier<SseEmitter> emitterFactory;
+    private final Executor sender;
+    private final int bufferSize;
+    private final long heartbeatNanos;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter dropped;
+    // Last change offered to every subscriber; read and written only by flushAll().
+    private PortfolioChangeDTO lastBroadcast;
+
+    @Autowired
+    public SsePortfolioEventStream(
+            PriceBook priceBook,
+            PortfolioSummaryProvider summaryProvider,
+            PortfolioVersionProvider portfolioVersion,
+            MeterRegistry registry,
+            @Value("${app.events.buffer-size:1024}") int bufferSize,
+            @Value("${app.events.heartbeat-ms:15000}") long heartbeatMs,
+            @Value("${app.events.timeout-ms:1800000}") long timeoutMs,
+            @Value("${app.events.sender-threads:4}") int senderThreads) {
+        this(priceBook, summaryProvider, portfolioVersion, registry, bufferSize, heartbeatMs,
+                () -> new SseEmitter(timeoutMs), Executors.newFixedThreadPool(senderThreads, daemonThreads()));
+    }
+
+    SsePortfolioEventStream(PriceBook priceBook,
+                            PortfolioSummaryProvider summaryProvider,
+                            PortfolioVersionProvider portfolioVersion,
+                            MeterRegistry registry,
+                            int bufferSize,
+                            long heartbeatMs,
+                            Supplier<SseEmitter> emitterFactory,
+                            Executor sender) {
+        this.priceBook = priceBook;
+        this.summaryProvider = summaryProvider;
+        this.portfolioVersion = portfolioVersion;
+        this.bufferSize = bufferSize;
+        this.heartbeatNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatMs);
+        this.emitterFactory = emitterFactory;
+        this.sender = sender;
+        this.dropped = Counter.builder("portfolio.events.dropped")
+                .description("Price changes dropped from full subscriber buffers")
+                .register(registry);
+        Gauge.builder("portfolio.events.subscribers", subscribers, Set::size)
+                .description("Open server-sent event connections")
+                .register(registry);
+    }
+
+    @Override
+    public SseEmitter subscribe() {
+        SseEmitter emitter = emitterFactory.get();
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        priceBook.snapshot().values().forEach(subscriber::offer);
+        subscriber.offer(changeSince(null));
+        subscribers.add(subscriber);
+        flush(subscriber);
+        return emitter;
+    }
+
+    @Override
+    public void publishPrices(Collection<PriceQuote> quotes) {
+        if (quotes.isEmpty()) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            quotes.forEach(subscriber::offer);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.flush-interval-ms:250}")
+    public void flushAll() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        PortfolioChangeDTO previous = lastBroadcast;
+        PortfolioChangeDTO change = changeSince(previous);
+        if (change != previous) {
+            lastBroadcast = change;
+            subscribers.forEach(subscriber -> subscriber.offer(change));
+        }
+        subscribers.forEach(this::flush);
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // {@code previous} itself while the version has not moved, otherwise a fresh change with the current summary.
+    private PortfolioChangeDTO changeSince(PortfolioChangeDTO previous) {
+        String etag = portfolioVersion.currentETag();
+        if (previous != null && previous.getEtag().equals(etag)) {
+            return previous;
+        }
+        return PortfolioChangeDTO.builder()
+                .etag(etag)
+                .summary(summaryProvider.getSummary())
+                .build();
+    }
+
+    private void flush(Subscriber subscriber) {
+        if (!subscriber.hasWork(System.nanoTime()) || !subscriber.sending.compareAndSet(false, true)) {
+            return;
+        }
+        sender.execute(() -> {
+            try {
+                subscriber.send(System.nanoTime());
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping event subscriber after failed send: {}", e.getMessage());
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(e);
+            } finally {
+                subscriber.sending.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        if (sender instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "portfolio-events-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final LinkedHashMap<MarketSymbol, PriceQuote> pendingPrices = new LinkedHashMap<>();
+        private PortfolioChangeDTO pendingChange;
+        private String offeredEtag;
+        private volatile long lastSentNanos = System.nanoTime();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void offer(PriceQuote quote) {
+            PriceQuote queued = pendingPrices.remove(quote.symbol());
+            if (queued != null && queued.version() > quote.version()) {
+                quote = queued;
+            }
+            pendingPrices.put(quote.symbol(), quote);
+            if (pendingPrices.size() > bufferSize) {
+                Iterator<MarketSymbol> oldest = pendingPrices.keySet().iterator();
+                oldest.next();
+                oldest.remove();
+                dropped.increment();
+            }
+        }
+
+        // A subscriber that already got this version (in its initial event) is not sent it again.
+        synchronized void offer(PortfolioChangeDTO change) {
+            if (!change.getEtag().equals(offeredEtag)) {
+                offeredEtag = change.getEtag();
+                pendingChange = change;
+            }
+        }
+
+        synchronized boolean hasWork(long now) {
+            return !pendingPrices.isEmpty() || pendingChange != null || now - lastSentNanos >= heartbeatNanos;
+        }
+
+        void send(long now) throws IOException {
+            List<PriceChangeDTO> prices;
+            PortfolioChangeDTO change;
+            synchronized (this) {
+                prices = new ArrayList<>(pendingPrices.size());
+                pendingPrices.values().forEach(quote -> prices.add(toDTO(quote)));
+                pendingPrices.clear();
+                change = pendingChange;
+                pendingChange = null;
+            }
+
+            if (!prices.isEmpty()) {
+                emitter.send(SseEmitter.event().name(PRICES_EVENT).data(prices));
+            }
+            if (change != null) {
+                emitter.send(SseEmitter.event().name(PORTFOLIO_EVENT).id(change.getEtag()).data(change));
+            }
+            if (prices.isEmpty() && change == null) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+            lastSentNanos = now;
+        }
+
+        private PriceChangeDTO toDTO(PriceQuote quote) {
+            return PriceChangeDTO.builder()
+                    .symbol(quote.symbol().symbol())
+                    .type(quote.symbol().type())
+                    .price(quote.price())
+                    .version(quote.version())
+                    .quotedAt(quote.quotedAt())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.projection.InvestmentSearchEntry;
+import com.investments.portfolio.repository.InvestmentRepository;
+import com.investments.portfolio.service.InvestmentSearchProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Served by the pg_trgm GIN indexes declared in scripts/init-db.sql (idx_investments_symbol_trgm / _name_trgm).
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.investments.search.mode", havingValue = "database", matchIfMissing = true)
+public class TrigramInvestmentSearchProvider implements InvestmentSearchProvider {
+
+    private final InvestmentRepository investmentRepository;
+
+    @Override
+    public List<Investment> searchBySymbol(String query, int limit) {
+        return investmentRepository.searchBySymbol(containsPattern(query), limit);
+    }
+
+    @Override
+    public List<Investment> searchByName(String query, int limit) {
+        return investmentRepository.searchByName(containsPattern(query), limit);
+    }
+
+    @Override
+    public void recordSaved(List<InvestmentSearchEntry> entries) {
+    }
+
+    @Override
+    public void recordRemoved(Long id) {
+    }
+
+    static String containsPattern(String query) {
+        String escaped = query
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
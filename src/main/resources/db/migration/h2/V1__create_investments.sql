@@ -0,0 +1,18 @@
+-- Esquema equivalente ao de PostgreSQL para o H2 (profile test).
+CREATE TABLE investments (
+    id BIGINT PRIMARY KEY,
+    type VARCHAR(20) NOT NULL,
+    symbol VARCHAR(20) NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    quantity NUMERIC(15,4) NOT NULL,
+    purchase_price NUMERIC(15,2) NOT NULL,
+    current_price NUMERIC(15,2),
+    purchase_date DATE NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT chk_quantity_positive CHECK (quantity > 0),
+    CONSTRAINT chk_purchase_price_positive CHECK (purchase_price > 0),
+    CONSTRAINT chk_current_price_non_negative CHECK (current_price >= 0 OR current_price IS NULL)
+);
+
+CREATE SEQUENCE investments_id_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,2 @@
+-- H2 nao tem pg_trgm; a busca usa o indice em memoria (app.investments.search.mode=memory).
+SELECT 1;
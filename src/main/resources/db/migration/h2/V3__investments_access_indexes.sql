@@ -0,0 +1,4 @@
+-- H2 nao suporta INCLUDE; as colunas extras entram na chave para cobrir o resumo por tipo.
+CREATE INDEX idx_investments_type_covering ON investments (type, purchase_price, quantity);
+
+CREATE INDEX idx_investments_symbol_type ON investments (symbol, type);
@@ -0,0 +1,24 @@
+-- Equivalente H2 sem particionamento (profile test).
+CREATE TABLE price_history (
+    symbol VARCHAR(20) NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    quoted_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    price NUMERIC(15,2) NOT NULL
+);
+
+CREATE INDEX idx_price_history_symbol_time ON price_history (symbol, type, quoted_at);
+
+CREATE TABLE price_rollups (
+    resolution VARCHAR(4) NOT NULL,
+    symbol VARCHAR(20) NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    bucket_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    open_price NUMERIC(15,2) NOT NULL,
+    high_price NUMERIC(15,2) NOT NULL,
+    low_price NUMERIC(15,2) NOT NULL,
+    close_price NUMERIC(15,2) NOT NULL,
+    samples INTEGER NOT NULL,
+    PRIMARY KEY (resolution, symbol, type, bucket_start)
+);
+
+CREATE INDEX idx_price_rollups_retention ON price_rollups (resolution, bucket_start);
@@ -0,0 +1,7 @@
+-- Equivalente H2 (profile test).
+CREATE TABLE scheduler_leases (
+    name VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(128),
+    fencing_token BIGINT NOT NULL DEFAULT 0,
+    expires_at TIMESTAMP WITH TIME ZONE
+);
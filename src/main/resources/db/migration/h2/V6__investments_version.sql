@@ -0,0 +1,2 @@
+-- Equivalente H2 (profile test).
+ALTER TABLE investments ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
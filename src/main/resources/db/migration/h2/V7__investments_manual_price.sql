@@ -0,0 +1,2 @@
+-- Equivalente H2 (profile test).
+ALTER TABLE investments ADD COLUMN manual_price BOOLEAN NOT NULL DEFAULT FALSE;
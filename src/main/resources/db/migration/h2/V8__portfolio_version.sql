@@ -0,0 +1,7 @@
+-- Equivalente H2 (profile test).
+CREATE TABLE portfolio_version (
+    id SMALLINT PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO portfolio_version (id, version) VALUES (1, 0);
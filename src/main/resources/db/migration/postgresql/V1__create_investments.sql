@@ -0,0 +1,37 @@
+-- Esquema base de investments. Idempotente para bancos criados antes do Flyway
+-- (scripts/init-db.sql ou ddl-auto=update), que entram com baseline na versao 0.
+CREATE TABLE IF NOT EXISTS investments (
+    id BIGSERIAL PRIMARY KEY,
+    type VARCHAR(20) NOT NULL,
+    symbol VARCHAR(20) NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    quantity NUMERIC(15,4) NOT NULL,
+    purchase_price NUMERIC(15,2) NOT NULL,
+    current_price NUMERIC(15,2),
+    purchase_date DATE NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT chk_quantity_positive CHECK (quantity > 0),
+    CONSTRAINT chk_purchase_price_positive CHECK (purchase_price > 0),
+    CONSTRAINT chk_current_price_non_negative CHECK (current_price >= 0 OR current_price IS NULL)
+);
+
+-- Incremento igual ao allocationSize de Investment.id (otimizador pooled do Hibernate).
+-- O otimizador trata o valor da sequencia como o topo do bloco (valor - 49 .. valor),
+-- entao o proximo valor precisa ficar 50 acima do maior ID existente.
+ALTER SEQUENCE investments_id_seq INCREMENT BY 50;
+SELECT setval('investments_id_seq', COALESCE((SELECT MAX(id) FROM investments), 0) + 50, false);
+
+CREATE OR REPLACE FUNCTION update_updated_at_column()
+    RETURNS TRIGGER AS $$
+BEGIN
+    NEW.updated_at = CURRENT_TIMESTAMP;
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+DROP TRIGGER IF EXISTS update_investments_updated_at ON investments;
+CREATE TRIGGER update_investments_updated_at
+    BEFORE UPDATE ON investments
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
@@ -0,0 +1,7 @@
+-- GET /investments/search: symbol/name ILIKE '%termo%' servido por indices de trigramas.
+-- CONCURRENTLY nao bloqueia escritas em investments durante a construcao e nao roda dentro de transacao
+-- (V2__investments_trigram_search.sql.conf). Se uma construcao falhar, o indice fica INVALID e o IF NOT EXISTS
+-- o manteria: remova-o com DROP INDEX CONCURRENTLY antes de repetir a migracao.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_investments_symbol_trgm ON investments USING gin (symbol gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_investments_name_trgm ON investments USING gin (name gin_trgm_ops);
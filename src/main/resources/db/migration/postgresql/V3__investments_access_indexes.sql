@@ -0,0 +1,12 @@
+-- CONCURRENTLY nao bloqueia escritas durante a construcao e nao roda dentro de transacao
+-- (V3__investments_access_indexes.sql.conf); ver V2 sobre indices INVALID apos falha.
+
+-- findByType e o resumo por tipo (GROUP BY type com SUM(purchase_price * quantity)):
+-- o INCLUDE permite index-only scan sem visitar a tabela.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_investments_type_covering
+    ON investments (type) INCLUDE (purchase_price, quantity);
+
+-- SELECT DISTINCT symbol, type (findDistinctSymbols), a cada ciclo da atualizacao de precos: index-only scan em vez
+-- de ler a tabela inteira. A gravacao dos precos percorre a tabela pela chave primaria, em blocos.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_investments_symbol_type
+    ON investments (symbol, type);
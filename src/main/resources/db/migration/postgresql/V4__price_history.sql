@@ -0,0 +1,32 @@
+-- Um registro por simbolo a cada ciclo de atualizacao de precos, particionado por mes em quoted_at.
+-- As particoes mensais sao criadas com antecedencia e removidas apos a retencao pela aplicacao
+-- (PriceHistoryMaintenance); a particao DEFAULT so recebe linhas se o mes corrente ainda nao existir.
+CREATE TABLE IF NOT EXISTS price_history (
+    symbol VARCHAR(20) NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    quoted_at TIMESTAMPTZ NOT NULL,
+    price NUMERIC(15,2) NOT NULL
+) PARTITION BY RANGE (quoted_at);
+
+CREATE TABLE IF NOT EXISTS price_history_default PARTITION OF price_history DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_price_history_symbol_time
+    ON price_history (symbol, type, quoted_at);
+
+-- Agregados OHLC por minuto (1m), hora (1h) e dia (1d), atualizados a cada ciclo com MERGE (PostgreSQL 15+).
+CREATE TABLE IF NOT EXISTS price_rollups (
+    resolution VARCHAR(4) NOT NULL,
+    symbol VARCHAR(20) NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    bucket_start TIMESTAMPTZ NOT NULL,
+    open_price NUMERIC(15,2) NOT NULL,
+    high_price NUMERIC(15,2) NOT NULL,
+    low_price NUMERIC(15,2) NOT NULL,
+    close_price NUMERIC(15,2) NOT NULL,
+    samples INTEGER NOT NULL,
+    PRIMARY KEY (resolution, symbol, type, bucket_start)
+);
+
+-- Limpeza por retencao (DELETE ... WHERE resolution = ? AND bucket_start < ?).
+CREATE INDEX IF NOT EXISTS idx_price_rollups_retention
+    ON price_rollups (resolution, bucket_start);
@@ -0,0 +1,8 @@
+-- Lease por tarefa agendada: so o no que detem o lease executa a tarefa no cluster. Cada novo detentor recebe o
+-- proximo fencing_token, e as gravacoes do no so sao aplicadas enquanto o token dele ainda for o atual.
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    name VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(128),
+    fencing_token BIGINT NOT NULL DEFAULT 0,
+    expires_at TIMESTAMP WITH TIME ZONE
+);
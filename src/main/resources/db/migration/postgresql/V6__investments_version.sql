@@ -0,0 +1,3 @@
+-- Versao otimista da posicao (JPA @Version): PUT/DELETE com If-Match so sao aplicados se a versao lida ainda for a atual.
+-- Escritas de current_price (atualizacao agendada e PATCH /investments/{id}/price) nao alteram a versao.
+ALTER TABLE investments ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
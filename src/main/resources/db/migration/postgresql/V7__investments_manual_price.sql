@@ -0,0 +1,3 @@
+-- Preco definido por PATCH /investments/{id}/price: vale para a posicao ate a atualizacao agendada grava-la de novo,
+-- e nao entra no ultimo preco do simbolo carregado no livro de precos.
+ALTER TABLE investments ADD COLUMN IF NOT EXISTS manual_price BOOLEAN NOT NULL DEFAULT FALSE;
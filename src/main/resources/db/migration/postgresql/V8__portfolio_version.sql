@@ -0,0 +1,8 @@
+-- Versao da carteira compartilhada entre os nos: cada escrita confirmada (cadastro, alteracao, remocao ou gravacao
+-- de precos) incrementa o contador, e o ETag de GET /investments e de /investments/summary e derivado dele.
+CREATE TABLE IF NOT EXISTS portfolio_version (
+    id SMALLINT PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO portfolio_version (id, version) VALUES (1, 0) ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,72 @@
+package com.investments.portfolio.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SlowQueryLoggingDataSourceTest {
+
+    private JdbcDataSource h2;
+
+    @BeforeEach
+    void createDatabase() throws SQLException {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:slow_query_test;DB_CLOSE_DELAY=-1");
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS quotes (symbol VARCHAR(20), price DECIMAL(19, 2))");
+            statement.execute("DELETE FROM quotes");
+        }
+    }
+
+    @Test
+    void shouldLogStatementsAboveThresholdWithTiming(CapturedOutput output) throws SQLException {
+        DataSource dataSource = new SlowQueryLoggingDataSource(h2, 0, 1.0);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO quotes (symbol, price)\n    VALUES (?, ?)")) {
+            for (int i = 0; i < 3; i++) {
+                insert.setString(1, "SYM" + i);
+                insert.setInt(2, i);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        assertThat(output).containsPattern("Slow query: \\d+ ms \\(batch of 3\\): INSERT INTO quotes \\(symbol, price\\) VALUES \\(\\?, \\?\\)");
+    }
+
+    @Test
+    void shouldStayQuietBelowThreshold(CapturedOutput output) throws SQLException {
+        DataSource dataSource = new SlowQueryLoggingDataSource(h2, 60_000, 1.0);
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeQuery("SELECT COUNT(*) FROM quotes").close();
+        }
+
+        assertThat(output).doesNotContain("Slow query");
+    }
+
+    @Test
+    void shouldSkipSlowQueriesLeftOutOfTheSample(CapturedOutput output) throws SQLException {
+        SlowQueryLoggingDataSource unsampled = new SlowQueryLoggingDataSource(h2, 0, 0.0);
+
+        try (Connection connection = unsampled.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeQuery("SELECT COUNT(*) FROM quotes").close();
+        }
+
+        assertThat(output).doesNotContain("Slow query");
+        assertThat(unsampled.isWrapperFor(JdbcDataSource.class)).isTrue();
+    }
+}
@@ -1,44 +1,85 @@
 package com.investments.portfolio.controller;
 
+import com.investments.portfolio.exception.BatchValidationException;
 import com.investments.portfolio.exception.GlobalExceptionHandler;
+import com.investments.portfolio.exception.InvalidRiskQueryException;
+import com.investments.portfolio.model.dto.BatchCreateResultDTO;
+import com.investments.portfolio.model.dto.InvestmentPageDTO;
+import com.investments.portfolio.model.dto.InvestmentRequestDTO;
 import com.investments.portfolio.model.dto.InvestmentResponseDTO;
+import com.investments.portfolio.model.dto.PositionValuationDTO;
+import com.investments.portfolio.model.dto.RiskDTO;
+import com.investments.portfolio.model.dto.RiskTotalDTO;
 import com.investments.portfolio.model.dto.SummaryDTO;
+import com.investments.portfolio.model.dto.ValuationDTO;
+import com.investments.portfolio.model.dto.ValuationTotalDTO;
+import com.investments.portfolio.model.entity.Investment;
 import com.investments.portfolio.model.enums.AssetType;
 import com.investments.portfolio.repository.InvestmentRepository;
 import com.investments.portfolio.service.InvestmentService;
+import com.investments.portfolio.service.PortfolioEventStream;
+import com.investments.portfolio.service.PortfolioVersionProvider;
+import com.investments.portfolio.service.RiskService;
+import com.investments.portfolio.service.ValuationService;
+import com.investments.portfolio.service.impl.InMemoryPortfolioVersionProvider;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(InvestmentController.class)
-@Import(GlobalExceptionHandler.class)
+@WebMvcTest(controllers = InvestmentController.class, properties = "app.portfolio.version.mode=memory")
+@Import({GlobalExceptionHandler.class, InMemoryPortfolioVersionProvider.class})
 @ActiveProfiles("test")
 class InvestmentControllerIntegrationTest {
 
+    private static final String UPDATE_BODY = """
+            {
+              "type": "ACAO",
+              "symbol": "BBAS3",
+              "quantity": 120,
+              "purchasePrice": 20.15,
+              "purchaseDate": "2025-07-31"
+            }
+            """;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -48,6 +89,18 @@ class InvestmentControllerIntegrationTest {
     @MockBean
     private InvestmentRepository investmentRepository;
 
+    @MockBean
+    private ValuationService valuationService;
+
+    @MockBean
+    private RiskService riskService;
+
+    @MockBean
+    private PortfolioEventStream portfolioEvents;
+
+    @Autowired
+    private PortfolioVersionProvider portfolioVersion;
+
     @Test
     void createInvestment_ShouldReturnMinimalResponseWithoutExtraFields() throws Exception {
         given(investmentService.createInvestment(any()))
@@ -81,6 +134,64 @@ class InvestmentControllerIntegrationTest {
                 .andExpect(jsonPath("$.updatedAt").doesNotExist());
     }
 
+    @Test
+    void createInvestments_WithJsonArray_ShouldReturnCreatedCount() throws Exception {
+        given(investmentService.createInvestments(any()))
+                .willAnswer(invocation -> BatchCreateResultDTO.builder()
+                        .created(invocation.<List<?>>getArgument(0).size())
+                        .build());
+
+        mockMvc.perform(post("/investments/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"type": "ACAO", "symbol": "BBAS3", "quantity": 100, "purchasePrice": 19.68, "purchaseDate": "2025-07-31"},
+                                  {"type": "CRIPTO", "symbol": "BTC", "quantity": 0.5, "purchasePrice": 250000.00, "purchaseDate": "2025-07-31"}
+                                ]
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(2));
+    }
+
+    @Test
+    void importInvestments_WithNdjson_ShouldPassEveryLineToService() throws Exception {
+        given(investmentService.importInvestments(any()))
+                .willAnswer(invocation -> {
+                    Iterator<InvestmentRequestDTO> requests = invocation.getArgument(0);
+                    int count = 0;
+                    while (requests.hasNext()) {
+                        assertThat(requests.next().getSymbol()).isNotBlank();
+                        count++;
+                    }
+                    return BatchCreateResultDTO.builder().created(count).build();
+                });
+
+        mockMvc.perform(post("/investments/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("""
+                                {"type": "ACAO", "symbol": "BBAS3", "quantity": 100, "purchasePrice": 19.68, "purchaseDate": "2025-07-31"}
+                                {"type": "FUNDO", "symbol": "BOVA11", "quantity": 10, "purchasePrice": 105.30, "purchaseDate": "2025-07-31"}
+                                {"type": "CRIPTO", "symbol": "BTC", "quantity": 0.5, "purchasePrice": 250000.00, "purchaseDate": "2025-07-31"}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(3));
+    }
+
+    @Test
+    void createInvestments_WhenAnItemIsInvalid_ShouldReturn400WithItemPaths() throws Exception {
+        given(investmentService.createInvestments(any()))
+                .willThrow(new BatchValidationException(List.of(
+                        new BatchValidationException.Violation("items[1].symbol", "Simbolo e obrigatorio"))));
+
+        mockMvc.perform(post("/investments/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{}, {}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"))
+                .andExpect(jsonPath("$.errors[0].field").value("items[1].symbol"));
+    }
+
     @Test
     void getAllInvestments_ShouldReturnMinimalItemsWithoutExtraFields() throws Exception {
         given(investmentService.getAllInvestments())
@@ -97,6 +208,72 @@ class InvestmentControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].currentValue").doesNotExist());
     }
 
+    @Test
+    void getInvestmentsPage_ShouldReturnItemsAndNextCursor() throws Exception {
+        given(investmentService.getInvestmentsPage(eq(AssetType.ACAO), eq(10L), eq(2)))
+                .willReturn(InvestmentPageDTO.builder()
+                        .items(List.of(
+                                sampleResponse(11L, AssetType.ACAO, "PETR4"),
+                                sampleResponse(12L, AssetType.ACAO, "VALE3")))
+                        .nextCursor(12L)
+                        .build());
+
+        mockMvc.perform(get("/investments/page")
+                        .param("type", "ACAO")
+                        .param("cursor", "10")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id").value(11))
+                .andExpect(jsonPath("$.items[1].symbol").value("VALE3"))
+                .andExpect(jsonPath("$.items[0].name").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value(12));
+    }
+
+    @Test
+    void searchInvestments_ShouldReturnMatchesUpToLimit() throws Exception {
+        given(investmentService.searchInvestments(eq("petr"), isNull(), eq(5)))
+                .willReturn(List.of(
+                        sampleResponse(1L, AssetType.ACAO, "PETR4"),
+                        sampleResponse(3L, AssetType.ACAO, "PETR3")));
+
+        mockMvc.perform(get("/investments/search")
+                        .param("symbol", "petr")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].symbol").value("PETR4"))
+                .andExpect(jsonPath("$[1].id").value(3));
+    }
+
+    @Test
+    void exportInvestments_ShouldStreamOneJsonObjectPerLine() throws Exception {
+        willAnswer(invocation -> {
+            Consumer<InvestmentResponseDTO> consumer = invocation.getArgument(1);
+            consumer.accept(sampleResponse(1L, AssetType.ACAO, "PETR4"));
+            consumer.accept(sampleResponse(2L, AssetType.CRIPTO, "BTC"));
+            return null;
+        }).given(investmentService).streamInvestments(isNull(), any());
+
+        MvcResult result = mockMvc.perform(get("/investments/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(body.split("\n"))
+                .hasSize(2)
+                .satisfies(lines -> {
+                    assertThat(lines[0]).contains("\"id\":1", "\"symbol\":\"PETR4\"");
+                    assertThat(lines[1]).contains("\"id\":2", "\"symbol\":\"BTC\"");
+                });
+    }
+
     @Test
     void getInvestmentsByType_WithPtBrEnum_ShouldFilterUsingCripto() throws Exception {
         given(investmentService.getInvestmentsByType(eq(AssetType.CRIPTO)))
@@ -125,7 +302,7 @@ class InvestmentControllerIntegrationTest {
 
     @Test
     void updateInvestment_ShouldReturnMinimalResponseWithoutExtraFields() throws Exception {
-        given(investmentService.updateInvestment(eq(1L), any()))
+        given(investmentService.updateInvestment(eq(1L), any(), isNull()))
                 .willReturn(sampleResponse(1L, AssetType.ACAO, "BBAS3"));
 
         mockMvc.perform(put("/investments/{id}", 1L)
@@ -147,9 +324,70 @@ class InvestmentControllerIntegrationTest {
                 .andExpect(jsonPath("$.currentValue").doesNotExist());
     }
 
+    @Test
+    void getInvestmentById_ShouldReturnVersionAsETagOutsideTheBody() throws Exception {
+        given(investmentService.getInvestmentById(eq(1L)))
+                .willReturn(sampleResponse(1L, AssetType.ACAO, "PETR4", 3L));
+
+        mockMvc.perform(get("/investments/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    void updateInvestment_WithIfMatch_ShouldPassExpectedVersionAndReturnNewETag() throws Exception {
+        given(investmentService.updateInvestment(eq(1L), any(), eq(3L)))
+                .willReturn(sampleResponse(1L, AssetType.ACAO, "BBAS3", 4L));
+
+        mockMvc.perform(put("/investments/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(UPDATE_BODY))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    void updateInvestment_WhenVersionIsStale_ShouldReturn409WithProblemDetail() throws Exception {
+        given(investmentService.updateInvestment(eq(1L), any(), eq(2L)))
+                .willThrow(new ObjectOptimisticLockingFailureException(Investment.class, 1L));
+
+        mockMvc.perform(put("/investments/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(UPDATE_BODY))
+                .andExpect(status().isConflict())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.errorCode").value("INVESTMENT_VERSION_CONFLICT"));
+    }
+
+    @Test
+    void updateMarketPrice_ShouldReturnNoContent() throws Exception {
+        mockMvc.perform(patch("/investments/{id}/price", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "currentPrice": 31.27 }
+                                """))
+                .andExpect(status().isNoContent())
+                .andExpect(content().string(""));
+
+        verify(investmentService).updateMarketPrice(1L, new BigDecimal("31.27"));
+    }
+
+    @Test
+    void updateMarketPrice_WhenPriceIsMissing_ShouldReturn400() throws Exception {
+        mockMvc.perform(patch("/investments/{id}/price", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+    }
+
     @Test
     void deleteInvestment_ShouldReturnNoContent() throws Exception {
-        doNothing().when(investmentService).deleteInvestment(1L);
+        doNothing().when(investmentService).deleteInvestment(1L, null);
 
         mockMvc.perform(delete("/investments/{id}", 1L))
                 .andExpect(status().isNoContent())
@@ -184,6 +422,149 @@ class InvestmentControllerIntegrationTest {
                 .andExpect(jsonPath("$.*", hasSize(3)));
     }
 
+    @Test
+    void getSummary_WhenETagMatches_ShouldReturn304WithoutCallingService() throws Exception {
+        given(investmentService.getSummary()).willReturn(SummaryDTO.builder()
+                .totalInvested(BigDecimal.ZERO)
+                .totalByType(Map.of())
+                .assetCount(0)
+                .build());
+
+        String etag = mockMvc.perform(get("/investments/summary"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/investments/summary").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        verify(investmentService, times(1)).getSummary();
+    }
+
+    @Test
+    void getAllInvestments_WhenPortfolioChanged_ShouldReturnFreshBodyAndNewETag() throws Exception {
+        given(investmentService.getAllInvestments())
+                .willReturn(List.of(sampleResponse(1L, AssetType.ACAO, "PETR4")));
+        String etag = portfolioVersion.currentETag();
+
+        mockMvc.perform(get("/investments").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        portfolioVersion.increment();
+
+        mockMvc.perform(get("/investments").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, portfolioVersion.currentETag()))
+                .andExpect(jsonPath("$", hasSize(1)));
+        verify(investmentService, times(1)).getAllInvestments();
+    }
+
+    @Test
+    void getValuation_ShouldReturnTotalsAndPositions() throws Exception {
+        ValuationTotalDTO total = ValuationTotalDTO.builder()
+                .positionCount(1)
+                .marketValue(new BigDecimal("310.00"))
+                .investedValue(new BigDecimal("300.00"))
+                .profitLoss(new BigDecimal("10.00"))
+                .profitLossPercentage(new BigDecimal("3.3300"))
+                .build();
+        given(valuationService.getValuation(AssetType.ACAO, true)).willReturn(ValuationDTO.builder()
+                .total(total)
+                .totalByType(Map.of(AssetType.ACAO, total))
+                .positions(List.of(PositionValuationDTO.builder()
+                        .id(1L)
+                        .type(AssetType.ACAO)
+                        .symbol("PETR4")
+                        .quantity(new BigDecimal("10.0000"))
+                        .currentPrice(new BigDecimal("31.00"))
+                        .marketValue(new BigDecimal("310.00"))
+                        .investedValue(new BigDecimal("300.00"))
+                        .profitLoss(new BigDecimal("10.00"))
+                        .profitLossPercentage(new BigDecimal("3.3300"))
+                        .build()))
+                .build());
+
+        mockMvc.perform(get("/investments/valuation").param("type", "ACAO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.marketValue").value(310.00))
+                .andExpect(jsonPath("$.totalByType.ACAO.profitLoss").value(10.00))
+                .andExpect(jsonPath("$.positions", hasSize(1)))
+                .andExpect(jsonPath("$.positions[0].currentPrice").value(31.00));
+    }
+
+    @Test
+    void getValuation_WhenPositionsDisabled_ShouldOmitPositions() throws Exception {
+        given(valuationService.getValuation(null, false)).willReturn(ValuationDTO.builder()
+                .total(ValuationTotalDTO.builder().positionCount(0).build())
+                .totalByType(Map.of())
+                .build());
+
+        mockMvc.perform(get("/investments/valuation").param("positions", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.positionCount").value(0))
+                .andExpect(jsonPath("$.positions").doesNotExist());
+    }
+
+    @Test
+    void getRisk_ShouldReturnValueAtRiskOverallAndByType() throws Exception {
+        RiskTotalDTO total = RiskTotalDTO.builder()
+                .positionCount(1)
+                .marketValue(new BigDecimal("300.00"))
+                .valueAtRisk(new BigDecimal("40.50"))
+                .expectedShortfall(new BigDecimal("42.75"))
+                .build();
+        given(riskService.getRisk(1, 200000, 0.95, 7L)).willReturn(RiskDTO.builder()
+                .horizonDays(1)
+                .paths(200000)
+                .confidence(new BigDecimal("0.95"))
+                .seed(7L)
+                .total(total)
+                .totalByType(Map.of(AssetType.ACAO, total))
+                .build());
+
+        mockMvc.perform(get("/investments/risk")
+                        .param("horizonDays", "1")
+                        .param("paths", "200000")
+                        .param("confidence", "0.95")
+                        .param("seed", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seed").value(7))
+                .andExpect(jsonPath("$.total.valueAtRisk").value(40.50))
+                .andExpect(jsonPath("$.totalByType.ACAO.expectedShortfall").value(42.75));
+    }
+
+    @Test
+    void getRisk_WhenParametersAreOutOfRange_ShouldReturn400() throws Exception {
+        given(riskService.getRisk(null, 0, null, null))
+                .willThrow(new InvalidRiskQueryException("'paths' must be between 1 and 2000000."));
+
+        mockMvc.perform(get("/investments/risk").param("paths", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.errorCode").value("INVALID_RISK_QUERY"));
+    }
+
+    @Test
+    void streamEvents_ShouldOpenEventStream() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        given(portfolioEvents.subscribe()).willReturn(emitter);
+
+        MvcResult result = mockMvc.perform(get("/investments/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().name("prices").data(List.of()));
+        emitter.complete();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE))
+                .andExpect(content().string("event:prices\ndata:[]\n\n"));
+    }
+
     @Test
     void getInvestmentById_WhenInvestmentDoesNotExist_ShouldReturn404WithProblemDetail() throws Exception {
         given(investmentService.getInvestmentById(eq(999L)))
@@ -217,6 +598,10 @@ class InvestmentControllerIntegrationTest {
     }
 
     private InvestmentResponseDTO sampleResponse(Long id, AssetType type, String symbol) {
+        return sampleResponse(id, type, symbol, null);
+    }
+
+    private InvestmentResponseDTO sampleResponse(Long id, AssetType type, String symbol, Long version) {
         return InvestmentResponseDTO.builder()
                 .id(id)
                 .type(type)
@@ -224,6 +609,7 @@ class InvestmentControllerIntegrationTest {
                 .quantity(new BigDecimal("100"))
                 .purchasePrice(new BigDecimal("19.68"))
                 .purchaseDate(LocalDate.of(2025, 7, 31))
+                .version(version)
                 .build();
     }
 }
@@ -0,0 +1,75 @@
+package com.investments.portfolio.controller;
+
+import com.investments.portfolio.exception.GlobalExceptionHandler;
+import com.investments.portfolio.exception.InvalidPriceHistoryQueryException;
+import com.investments.portfolio.model.dto.PriceCandleDTO;
+import com.investments.portfolio.model.dto.PriceHistoryDTO;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.enums.PriceResolution;
+import com.investments.portfolio.service.PriceHistoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PriceHistoryController.class)
+@Import(GlobalExceptionHandler.class)
+@ActiveProfiles("test")
+class PriceHistoryControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PriceHistoryService priceHistoryService;
+
+    @Test
+    void getHistory_ShouldReturnCandlesForRequestedRange() throws Exception {
+        Instant from = Instant.parse("2026-03-01T00:00:00Z");
+        Instant to = Instant.parse("2026-03-02T00:00:00Z");
+        BigDecimal price = new BigDecimal("31.00");
+        given(priceHistoryService.getHistory("PETR4", AssetType.ACAO, from, to, "1h")).willReturn(PriceHistoryDTO.builder()
+                .symbol("PETR4")
+                .type(AssetType.ACAO)
+                .resolution(PriceResolution.HOUR)
+                .from(from)
+                .to(to)
+                .points(List.of(new PriceCandleDTO(from, price, price, price, price)))
+                .build());
+
+        mockMvc.perform(get("/prices/PETR4")
+                        .param("type", "ACAO")
+                        .param("from", "2026-03-01T00:00:00Z")
+                        .param("to", "2026-03-02T00:00:00Z")
+                        .param("resolution", "1h"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resolution").value("1h"))
+                .andExpect(jsonPath("$.points[0].close").value(31.00));
+    }
+
+    @Test
+    void getHistory_WhenQueryIsInvalid_ShouldReturn400WithProblemDetail() throws Exception {
+        given(priceHistoryService.getHistory(eq("BTC"), isNull(), any(), any(), isNull()))
+                .willThrow(new InvalidPriceHistoryQueryException("Symbol 'BTC' is quoted as [CRIPTO, FUNDO]; provide 'type'."));
+
+        mockMvc.perform(get("/prices/BTC"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_PRICE_HISTORY_QUERY"))
+                .andExpect(jsonPath("$.detail").value("Symbol 'BTC' is quoted as [CRIPTO, FUNDO]; provide 'type'."));
+    }
+}
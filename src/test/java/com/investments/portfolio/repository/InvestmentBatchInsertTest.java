@@ -0,0 +1,57 @@
+package com.investments.portfolio.repository;
+
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.enums.AssetType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class InvestmentBatchInsertTest {
+
+    private static final int ROWS = 1000;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void saveAll_ShouldBatchInsertsAndPoolSequenceCalls() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Investment> investments = IntStream.range(0, ROWS)
+                .mapToObj(i -> Investment.builder()
+                        .type(AssetType.ACAO)
+                        .symbol("SYM" + i)
+                        .name("SYM" + i)
+                        .quantity(BigDecimal.ONE)
+                        .purchasePrice(BigDecimal.TEN)
+                        .purchaseDate(LocalDate.of(2025, 1, 1))
+                        .build())
+                .toList();
+        statistics.clear();
+
+        investmentRepository.saveAllAndFlush(investments);
+
+        long sequenceCalls = ROWS / BATCH_SIZE + 1;
+        long insertBatches = ROWS / BATCH_SIZE;
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(sequenceCalls + insertBatches);
+    }
+}
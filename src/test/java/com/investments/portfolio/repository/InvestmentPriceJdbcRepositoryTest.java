@@ -0,0 +1,188 @@
+package com.investments.portfolio.repository;
+
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.projection.MarketSymbol;
+import com.investments.portfolio.model.projection.PriceQuote;
+import com.investments.portfolio.model.projection.SymbolPrice;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(InvestmentPriceJdbcRepository.class)
+@ActiveProfiles("test")
+class InvestmentPriceJdbcRepositoryTest {
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private InvestmentPriceJdbcRepository priceRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void findDistinctSymbols_ShouldCollapsePositionsSharingSymbolAndType() {
+        investmentRepository.saveAllAndFlush(List.of(
+                investment(AssetType.ACAO, "PETR4"),
+                investment(AssetType.ACAO, "PETR4"),
+                investment(AssetType.CRIPTO, "BTC"),
+                investment(AssetType.CRIPTO, "BTC"),
+                investment(AssetType.FUNDO, "BTC")));
+
+        List<MarketSymbol> symbols = priceRepository.findDistinctSymbols();
+
+        assertThat(symbols).containsExactlyInAnyOrder(
+                new MarketSymbol("PETR4", AssetType.ACAO),
+                new MarketSymbol("BTC", AssetType.CRIPTO),
+                new MarketSymbol("BTC", AssetType.FUNDO));
+    }
+
+    @Test
+    void updateCurrentPrices_ShouldFanOutEachSymbolPriceToAllItsPositions() {
+        investmentRepository.saveAllAndFlush(IntStream.range(0, 300)
+                .mapToObj(i -> investment(i % 3 == 0 ? AssetType.CRIPTO : AssetType.ACAO, i % 3 == 0 ? "BTC" : "PETR4"))
+                .toList());
+
+        int written = priceRepository.updateCurrentPricesInChunks(List.of(
+                new SymbolPrice(new MarketSymbol("PETR4", AssetType.ACAO), new BigDecimal("31.20")),
+                new SymbolPrice(new MarketSymbol("BTC", AssetType.CRIPTO), new BigDecimal("251000.00"))), 7, null);
+        entityManager.clear();
+
+        assertThat(written).isEqualTo(300);
+
+        assertThat(investmentRepository.findByType(AssetType.ACAO))
+                .hasSize(200)
+                .allSatisfy(investment -> assertThat(investment.getCurrentPrice()).isEqualByComparingTo("31.20"));
+        assertThat(investmentRepository.findByType(AssetType.CRIPTO))
+                .hasSize(100)
+                .allSatisfy(investment -> assertThat(investment.getCurrentPrice()).isEqualByComparingTo("251000.00"));
+    }
+
+    @Test
+    void findLatestPrices_ShouldReturnOneQuotePerPricedSymbol() {
+        investmentRepository.saveAllAndFlush(List.of(
+                investment(AssetType.ACAO, "PETR4"),
+                investment(AssetType.ACAO, "PETR4"),
+                investment(AssetType.CRIPTO, "BTC")));
+        priceRepository.updateCurrentPricesInChunks(List.of(
+                new SymbolPrice(new MarketSymbol("PETR4", AssetType.ACAO), new BigDecimal("31.20"))), 10, null);
+
+        List<PriceQuote> quotes = priceRepository.findLatestPrices();
+
+        assertThat(quotes).singleElement().satisfies(quote -> {
+            assertThat(quote.symbol()).isEqualTo(new MarketSymbol("PETR4", AssetType.ACAO));
+            assertThat(quote.price()).isEqualByComparingTo("31.20");
+            assertThat(quote.version()).isZero();
+        });
+    }
+
+    @Test
+    void findLatestPrices_ShouldTakePriceOfMostRecentlyUpdatedPosition() {
+        Investment older = investment(AssetType.ACAO, "PETR4");
+        Investment newer = investment(AssetType.ACAO, "PETR4");
+        investmentRepository.saveAllAndFlush(List.of(older, newer));
+        LocalDateTime refreshedAt = LocalDateTime.of(2025, 6, 2, 10, 0);
+        jdbcTemplate.update("UPDATE investments SET current_price = 40.00, updated_at = ? WHERE id = ?",
+                refreshedAt.minusDays(1), older.getId());
+        jdbcTemplate.update("UPDATE investments SET current_price = 30.00, updated_at = ? WHERE id = ?",
+                refreshedAt, newer.getId());
+
+        List<PriceQuote> quotes = priceRepository.findLatestPrices();
+
+        assertThat(quotes).singleElement().satisfies(quote -> {
+            assertThat(quote.price()).isEqualByComparingTo("30.00");
+            assertThat(quote.quotedAt()).isEqualTo(Timestamp.valueOf(refreshedAt).toInstant());
+        });
+    }
+
+    @Test
+    void findLatestPrices_ShouldIgnoreManuallySetPrices() {
+        Investment refreshed = investment(AssetType.ACAO, "PETR4");
+        Investment manual = investment(AssetType.ACAO, "PETR4");
+        investmentRepository.saveAllAndFlush(List.of(refreshed, manual));
+        priceRepository.updateCurrentPricesInChunks(List.of(
+                new SymbolPrice(new MarketSymbol("PETR4", AssetType.ACAO), new BigDecimal("31.20"))), 10, null);
+        // Newer than the refresh, yet not the symbol's price.
+        investmentRepository.updateCurrentPrice(manual.getId(), new BigDecimal("99.00"),
+                LocalDateTime.now().plusDays(1));
+
+        assertThat(priceRepository.findLatestPrices()).singleElement()
+                .satisfies(quote -> assertThat(quote.price()).isEqualByComparingTo("31.20"));
+    }
+
+    @Test
+    void updateCurrentPrices_ShouldLeaveManuallyPricedPositionsAlone() {
+        Investment refreshed = investment(AssetType.ACAO, "PETR4");
+        Investment manual = investment(AssetType.ACAO, "PETR4");
+        investmentRepository.saveAllAndFlush(List.of(refreshed, manual));
+        investmentRepository.updateCurrentPrice(manual.getId(), new BigDecimal("99.00"), LocalDateTime.now());
+
+        int written = priceRepository.updateCurrentPricesInChunks(List.of(
+                new SymbolPrice(new MarketSymbol("PETR4", AssetType.ACAO), new BigDecimal("31.20"))), 10, null);
+        entityManager.clear();
+
+        assertThat(written).isEqualTo(1);
+        assertThat(investmentRepository.findById(manual.getId())).hasValueSatisfying(investment -> {
+            assertThat(investment.getCurrentPrice()).isEqualByComparingTo("99.00");
+            assertThat(investment.isManualPrice()).isTrue();
+        });
+        assertThat(investmentRepository.findById(refreshed.getId())).hasValueSatisfying(investment ->
+                assertThat(investment.getCurrentPrice()).isEqualByComparingTo("31.20"));
+    }
+
+    @Test
+    void forEachValuationRow_ShouldDeliverScaledLongsInIdOrder() {
+        Investment priced = investment(AssetType.ACAO, "PETR4");
+        priced.setQuantity(new BigDecimal("12.3456"));
+        priced.setCurrentPrice(new BigDecimal("31.27"));
+        investmentRepository.saveAllAndFlush(List.of(priced, investment(AssetType.CRIPTO, "BTC")));
+        List<long[]> rows = new ArrayList<>();
+
+        priceRepository.forEachValuationRow(null,
+                (id, type, symbol, quantityUnits, purchaseCents, currentCents, manualPrice) ->
+                        rows.add(new long[]{id, quantityUnits, purchaseCents, currentCents}));
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).containsExactly(priced.getId(), 123_456L, 1_000L, 3_127L);
+        assertThat(rows.get(1)[3]).isEqualTo(InvestmentPriceJdbcRepository.NO_PRICE);
+
+        rows.clear();
+        priceRepository.forEachValuationRow(AssetType.CRIPTO,
+                (id, type, symbol, quantityUnits, purchaseCents, currentCents, manualPrice) ->
+                        rows.add(new long[]{id}));
+        assertThat(rows).hasSize(1);
+    }
+
+    private Investment investment(AssetType type, String symbol) {
+        return Investment.builder()
+                .type(type)
+                .symbol(symbol)
+                .name(symbol)
+                .quantity(BigDecimal.TEN)
+                .purchasePrice(new BigDecimal("10.00"))
+                .purchaseDate(LocalDate.of(2025, 1, 1))
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.investments.portfolio.repository;
+
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.enums.AssetType;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.investments.portfolio.repository.InvestmentQueryPlanTest$CapturingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class InvestmentQueryPlanTest {
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        AssetType[] types = AssetType.values();
+        investmentRepository.saveAllAndFlush(IntStream.range(0, 500)
+                .mapToObj(i -> Investment.builder()
+                        .type(types[i % types.length])
+                        .symbol("SYM" + (i % 50))
+                        .name("SYM" + (i % 50))
+                        .quantity(BigDecimal.ONE)
+                        .purchasePrice(BigDecimal.TEN)
+                        .purchaseDate(LocalDate.of(2025, 1, 1))
+                        .build())
+                .toList());
+    }
+
+    static Stream<Arguments> refreshStatements() {
+        return Stream.of(
+                Arguments.of("findDistinctSymbols", InvestmentPriceJdbcRepository.SELECT_DISTINCT_SYMBOLS,
+                        new Object[0], "IDX_INVESTMENTS_SYMBOL_TYPE"),
+                Arguments.of("priceChunkForUpdate", InvestmentPriceJdbcRepository.SELECT_PRICE_CHUNK_FOR_UPDATE,
+                        new Object[]{0L, 500}, "PRIMARY_KEY"),
+                Arguments.of("updateCurrentPriceById", InvestmentPriceJdbcRepository.UPDATE_CURRENT_PRICE_BY_ID,
+                        new Object[]{BigDecimal.ONE, null, 1L}, "PRIMARY_KEY"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("refreshStatements")
+    void refreshStatement_ShouldUseIndexInsteadOfTableScan(String statement, String sql, Object[] args,
+                                                           String expectedIndex) {
+        assertUsesIndex(statement, sql, args, expectedIndex);
+    }
+
+    @Test
+    void findResponsesByType_ShouldUseCoveringTypeIndex() {
+        String sql = capture(() -> investmentRepository.findResponsesByType(AssetType.ACAO));
+
+        assertUsesIndex("findResponsesByType", sql, new Object[]{AssetType.ACAO.name()}, "IDX_INVESTMENTS_TYPE_COVERING");
+    }
+
+    @Test
+    void summarizeByType_ShouldUseCoveringTypeIndex() {
+        String sql = capture(investmentRepository::summarizeByType);
+
+        assertUsesIndex("summarizeByType", sql, new Object[0], "IDX_INVESTMENTS_TYPE_COVERING");
+    }
+
+    private void assertUsesIndex(String statement, String sql, Object[] args, String expectedIndex) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+
+        assertThat(plan)
+                .as("plan for %s", statement)
+                .doesNotContainIgnoringCase("tableScan")
+                .containsIgnoringCase(expectedIndex);
+    }
+
+    // The SQL Hibernate generates for a repository query, as sent to the database.
+    private static String capture(Runnable query) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        query.run();
+        assertThat(CapturingStatementInspector.STATEMENTS).hasSize(1);
+        return CapturingStatementInspector.STATEMENTS.get(0);
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
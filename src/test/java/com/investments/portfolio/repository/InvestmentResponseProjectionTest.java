@@ -0,0 +1,82 @@
+package com.investments.portfolio.repository;
+
+import com.investments.portfolio.model.dto.InvestmentResponseDTO;
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.enums.AssetType;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class InvestmentResponseProjectionTest {
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private List<Investment> saved;
+
+    @BeforeEach
+    void seed() {
+        saved = investmentRepository.saveAllAndFlush(List.of(
+                investment(AssetType.ACAO, "PETR4"),
+                investment(AssetType.CRIPTO, "BTC"),
+                investment(AssetType.ACAO, "VALE3")));
+        entityManager.clear();
+    }
+
+    @Test
+    void findAllResponses_ShouldSelectDtosWithoutManagingEntities() {
+        List<InvestmentResponseDTO> responses = investmentRepository.findAllResponses();
+
+        assertThat(responses)
+                .extracting(InvestmentResponseDTO::getSymbol)
+                .containsExactly("PETR4", "BTC", "VALE3");
+        assertThat(responses.get(0).getQuantity()).isEqualByComparingTo("3");
+        assertThat(responses.get(0).getPurchaseDate()).isEqualTo(LocalDate.of(2025, 1, 1));
+        assertThat(managedEntityCount()).isZero();
+    }
+
+    @Test
+    void findResponsesByTypeAndById_ShouldMatchEntityValues() {
+        assertThat(investmentRepository.findResponsesByType(AssetType.ACAO))
+                .extracting(InvestmentResponseDTO::getSymbol)
+                .containsExactly("PETR4", "VALE3");
+
+        InvestmentResponseDTO btc = investmentRepository.findResponseById(saved.get(1).getId()).orElseThrow();
+        assertThat(btc.getType()).isEqualTo(AssetType.CRIPTO);
+        assertThat(btc.getPurchasePrice()).isEqualByComparingTo("10.00");
+        assertThat(investmentRepository.findResponseById(-1L)).isEmpty();
+        assertThat(managedEntityCount()).isZero();
+    }
+
+    private int managedEntityCount() {
+        return entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount();
+    }
+
+    private Investment investment(AssetType type, String symbol) {
+        return Investment.builder()
+                .type(type)
+                .symbol(symbol)
+                .name(symbol)
+                .quantity(new BigDecimal("3"))
+                .purchasePrice(new BigDecimal("10.00"))
+                .purchaseDate(LocalDate.of(2025, 1, 1))
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.investments.portfolio.repository;
+
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.enums.AssetType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class InvestmentSearchQueryTest {
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @BeforeEach
+    void seed() {
+        investmentRepository.saveAllAndFlush(List.of(
+                investment("PETR4", "Petrobras PN"),
+                investment("PETR3", "Petrobras ON"),
+                investment("VALE3", "Vale ON"),
+                investment("CDB_X", "CDB 100% CDI")));
+    }
+
+    @Test
+    void searchBySymbol_ShouldMatchCaseInsensitiveSubstringUpToLimit() {
+        assertThat(investmentRepository.searchBySymbol("%etr%", 10))
+                .extracting(Investment::getSymbol)
+                .containsExactly("PETR4", "PETR3");
+        assertThat(investmentRepository.searchBySymbol("%etr%", 1)).hasSize(1);
+    }
+
+    @Test
+    void searchByName_ShouldTreatEscapedWildcardsAsLiterals() {
+        assertThat(investmentRepository.searchByName("%100\\%%", 10))
+                .extracting(Investment::getSymbol)
+                .containsExactly("CDB_X");
+        assertThat(investmentRepository.searchBySymbol("%\\_%", 10))
+                .extracting(Investment::getSymbol)
+                .containsExactly("CDB_X");
+    }
+
+    private Investment investment(String symbol, String name) {
+        return Investment.builder()
+                .type(AssetType.ACAO)
+                .symbol(symbol)
+                .name(name)
+                .quantity(BigDecimal.ONE)
+                .purchasePrice(BigDecimal.TEN)
+                .purchaseDate(LocalDate.of(2025, 1, 1))
+                .build();
+    }
+}
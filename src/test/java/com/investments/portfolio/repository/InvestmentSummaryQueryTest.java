@@ -0,0 +1,83 @@
+package com.investments.portfolio.repository;
+
+import com.investments.portfolio.model.dto.SummaryDTO;
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.service.impl.DatabasePortfolioSummaryProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class InvestmentSummaryQueryTest {
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Test
+    void summarizeByType_ShouldMatchEntityFold() {
+        Random random = new Random(42);
+        List<Investment> investments = new ArrayList<>();
+        AssetType[] types = {AssetType.ACAO, AssetType.CRIPTO, AssetType.FUNDO, AssetType.RENDA_FIXA};
+        for (int i = 0; i < 200; i++) {
+            investments.add(Investment.builder()
+                    .type(types[i % types.length])
+                    .symbol("SYM" + (i % 7))
+                    .name("SYM" + (i % 7))
+                    .quantity(BigDecimal.valueOf(1 + random.nextInt(1_000_000), 4))
+                    .purchasePrice(BigDecimal.valueOf(1 + random.nextInt(10_000_000), 2))
+                    .purchaseDate(LocalDate.of(2025, 1, 1))
+                    .build());
+        }
+        investmentRepository.saveAllAndFlush(investments);
+
+        SummaryDTO expected = foldEntities(investmentRepository.findAll());
+        SummaryDTO actual = new DatabasePortfolioSummaryProvider(investmentRepository).getSummary();
+
+        assertThat(actual.getAssetCount()).isEqualTo(expected.getAssetCount());
+        assertThat(actual.getTotalInvested()).isEqualTo(expected.getTotalInvested());
+        assertThat(actual.getTotalByType()).isEqualTo(expected.getTotalByType());
+    }
+
+    @Test
+    void summarizeByType_WhenEmpty_ShouldMatchEntityFold() {
+        SummaryDTO expected = foldEntities(investmentRepository.findAll());
+        SummaryDTO actual = new DatabasePortfolioSummaryProvider(investmentRepository).getSummary();
+
+        assertThat(actual.getAssetCount()).isZero().isEqualTo(expected.getAssetCount());
+        assertThat(actual.getTotalInvested()).isEqualTo(expected.getTotalInvested());
+        assertThat(actual.getTotalByType()).isEqualTo(expected.getTotalByType());
+    }
+
+    private SummaryDTO foldEntities(List<Investment> investments) {
+        Map<AssetType, BigDecimal> totalByType = new EnumMap<>(AssetType.class);
+        BigDecimal totalInvested = BigDecimal.ZERO;
+        for (Investment investment : investments) {
+            BigDecimal invested = investment.getPurchasePrice().multiply(investment.getQuantity());
+            totalInvested = totalInvested.add(invested);
+            totalByType.merge(investment.getType(), invested, BigDecimal::add);
+        }
+        for (AssetType type : AssetType.values()) {
+            totalByType.putIfAbsent(type, BigDecimal.ZERO);
+        }
+        return SummaryDTO.builder()
+                .totalInvested(totalInvested)
+                .totalByType(totalByType)
+                .assetCount(investments.size())
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.investments.portfolio.repository;
+
+import com.investments.portfolio.model.dto.PriceCandleDTO;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.enums.PriceResolution;
+import com.investments.portfolio.model.projection.MarketSymbol;
+import com.investments.portfolio.model.projection.PriceQuote;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PriceHistoryJdbcRepository.class)
+@ActiveProfiles("test")
+class PriceHistoryJdbcRepositoryTest {
+
+    private static final MarketSymbol PETR4 = new MarketSymbol("PETR4", AssetType.ACAO);
+    private static final MarketSymbol BTC = new MarketSymbol("BTC", AssetType.CRIPTO);
+    private static final Instant START = Instant.parse("2026-03-02T10:00:00Z");
+
+    @Autowired
+    private PriceHistoryJdbcRepository historyRepository;
+
+    @Test
+    void append_ShouldStoreTicksAndRollThemUpIntoOhlcBuckets() {
+        historyRepository.append(List.of(quote(PETR4, "30.00", 0), quote(BTC, "250000.00", 0)), 100);
+        historyRepository.append(List.of(quote(PETR4, "32.00", 20)), 100);
+        historyRepository.append(List.of(quote(PETR4, "29.50", 40)), 100);
+        historyRepository.append(List.of(quote(PETR4, "31.00", 70)), 100);
+
+        assertThat(historyRepository.findTicks("PETR4", AssetType.ACAO, START, START.plusSeconds(3600)))
+                .extracting(PriceCandleDTO::getClose)
+                .containsExactly(new BigDecimal("30.00"), new BigDecimal("32.00"), new BigDecimal("29.50"), new BigDecimal("31.00"));
+
+        List<PriceCandleDTO> minutes = historyRepository.findRollups(
+                PriceResolution.MINUTE, "PETR4", AssetType.ACAO, START, START.plusSeconds(3600));
+        assertThat(minutes).hasSize(2);
+        assertCandle(minutes.get(0), START, "30.00", "32.00", "29.50", "29.50");
+        assertCandle(minutes.get(1), START.plusSeconds(60), "31.00", "31.00", "31.00", "31.00");
+
+        List<PriceCandleDTO> days = historyRepository.findRollups(
+                PriceResolution.DAY, "PETR4", AssetType.ACAO, Instant.parse("2026-03-02T00:00:00Z"), START.plusSeconds(86400));
+        assertThat(days).singleElement()
+                .satisfies(day -> assertCandle(day, Instant.parse("2026-03-02T00:00:00Z"), "30.00", "32.00", "29.50", "31.00"));
+
+        assertThat(historyRepository.findTypesBySymbol("BTC")).containsExactly(AssetType.CRIPTO);
+        assertThat(historyRepository.findTypesBySymbol("VALE3")).isEmpty();
+    }
+
+    @Test
+    void deleteBefore_ShouldApplyRetentionPerResolution() {
+        historyRepository.append(List.of(quote(PETR4, "30.00", 0)), 100);
+        historyRepository.append(List.of(quote(PETR4, "31.00", 7200)), 100);
+
+        assertThat(historyRepository.deleteTicksBefore(START.plusSeconds(3600))).isEqualTo(1);
+        assertThat(historyRepository.deleteRollupsBefore(PriceResolution.MINUTE, START.plusSeconds(3600))).isEqualTo(1);
+
+        assertThat(historyRepository.findTicks("PETR4", AssetType.ACAO, START, START.plusSeconds(86400))).hasSize(1);
+        assertThat(historyRepository.findRollups(PriceResolution.HOUR, "PETR4", AssetType.ACAO, START, START.plusSeconds(86400)))
+                .hasSize(2);
+    }
+
+    private PriceQuote quote(MarketSymbol symbol, String price, long secondsAfterStart) {
+        return new PriceQuote(symbol, new BigDecimal(price), START.plusSeconds(secondsAfterStart), 1);
+    }
+
+    private void assertCandle(PriceCandleDTO candle, Instant time, String open, String high, String low, String close) {
+        assertThat(candle.getTime()).isEqualTo(time);
+        assertThat(candle.getOpen()).isEqualByComparingTo(open);
+        assertThat(candle.getHigh()).isEqualByComparingTo(high);
+        assertThat(candle.getLow()).isEqualByComparingTo(low);
+        assertThat(candle.getClose()).isEqualByComparingTo(close);
+    }
+}
@@ -0,0 +1,98 @@
+package com.investments.portfolio.repository;
+
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.projection.FencingToken;
+import com.investments.portfolio.model.projection.MarketSymbol;
+import com.investments.portfolio.model.projection.SymbolPrice;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SchedulerLeaseJdbcRepository.class, InvestmentPriceJdbcRepository.class})
+@ActiveProfiles("test")
+class SchedulerLeaseJdbcRepositoryTest {
+
+    private static final String TASK = "lease-test";
+    private static final Duration MINUTE = Duration.ofMinutes(1);
+
+    @Autowired
+    private SchedulerLeaseJdbcRepository leaseRepository;
+
+    @Autowired
+    private InvestmentPriceJdbcRepository priceRepository;
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void tryAcquire_ShouldGrantTheLeaseToOneNodeUntilItExpires() {
+        leaseRepository.createIfAbsent(TASK);
+        leaseRepository.createIfAbsent(TASK);
+
+        assertThat(leaseRepository.tryAcquire(TASK, "node-a", MINUTE)).hasValue(1);
+        assertThat(leaseRepository.tryAcquire(TASK, "node-b", MINUTE)).isEmpty();
+        assertThat(leaseRepository.tryAcquire(TASK, "node-a", MINUTE)).hasValue(1);
+
+        leaseRepository.tryAcquire(TASK, "node-a", Duration.ZERO);
+
+        assertThat(leaseRepository.tryAcquire(TASK, "node-b", MINUTE)).hasValue(2);
+        assertThat(leaseRepository.tryAcquire(TASK, "node-a", MINUTE)).isEmpty();
+    }
+
+    @Test
+    void release_ShouldLetAnotherNodeTakeOverWithANewToken() {
+        leaseRepository.createIfAbsent(TASK);
+        leaseRepository.tryAcquire(TASK, "node-a", MINUTE);
+
+        leaseRepository.release(TASK, "node-b");
+        assertThat(leaseRepository.tryAcquire(TASK, "node-b", MINUTE)).isEmpty();
+
+        leaseRepository.release(TASK, "node-a");
+        assertThat(leaseRepository.tryAcquire(TASK, "node-b", MINUTE)).hasValue(2);
+    }
+
+    @Test
+    void updateCurrentPrices_WithStaleFencingToken_ShouldWriteNothing() {
+        investmentRepository.saveAndFlush(Investment.builder()
+                .type(AssetType.ACAO)
+                .symbol("PETR4")
+                .name("PETR4")
+                .quantity(BigDecimal.ONE)
+                .purchasePrice(BigDecimal.TEN)
+                .purchaseDate(LocalDate.of(2025, 1, 1))
+                .build());
+        leaseRepository.createIfAbsent(TASK);
+        long stale = leaseRepository.tryAcquire(TASK, "node-a", Duration.ZERO).orElseThrow();
+        OptionalLong current = leaseRepository.tryAcquire(TASK, "node-b", MINUTE);
+        List<SymbolPrice> prices = List.of(
+                new SymbolPrice(new MarketSymbol("PETR4", AssetType.ACAO), new BigDecimal("31.20")));
+
+        int staleWrites = priceRepository.updateCurrentPricesInChunks(prices, 10, new FencingToken(TASK, stale));
+        int currentWrites = priceRepository.updateCurrentPricesInChunks(prices, 10, new FencingToken(TASK, current.orElseThrow()));
+        entityManager.clear();
+
+        assertThat(staleWrites).isZero();
+        assertThat(currentWrites).isEqualTo(1);
+        assertThat(investmentRepository.findByType(AssetType.ACAO))
+                .singleElement()
+                .satisfies(investment -> assertThat(investment.getCurrentPrice()).isEqualByComparingTo("31.20"));
+    }
+}
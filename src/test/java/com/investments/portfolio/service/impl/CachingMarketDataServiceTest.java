@@ -0,0 +1,156 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.service.MarketDataService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingMarketDataServiceTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final CountingMarketDataService delegate = new CountingMarketDataService();
+
+    private final CachingMarketDataService cache = new CachingMarketDataService(delegate, 1000, 3, clock::get);
+
+    @Test
+    void getCurrentPrice_ShouldQuoteEachSymbolOncePerTtl() {
+        BigDecimal first = cache.getCurrentPrice("petr4", AssetType.ACAO);
+        BigDecimal second = cache.getCurrentPrice(" PETR4 ", AssetType.ACAO);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(delegate.calls.get()).isEqualTo(1);
+        assertThat(cache.getStats().hits()).isEqualTo(1);
+        assertThat(cache.getStats().misses()).isEqualTo(1);
+
+        advanceMillis(1000);
+        cache.getCurrentPrice("PETR4", AssetType.ACAO);
+
+        assertThat(delegate.calls.get()).isEqualTo(2);
+        assertThat(cache.getStats().misses()).isEqualTo(2);
+    }
+
+    @Test
+    void getCurrentPrice_ShouldKeySymbolsByAssetType() {
+        cache.getCurrentPrice("XPTO", AssetType.ACAO);
+        cache.getCurrentPrice("XPTO", AssetType.FUNDO);
+
+        assertThat(delegate.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void getCurrentPrice_ShouldEvictOldestEntriesWhenFull() {
+        cache.getCurrentPrice("A", AssetType.ACAO);
+        advanceMillis(10);
+        cache.getCurrentPrice("B", AssetType.ACAO);
+        advanceMillis(10);
+        cache.getCurrentPrice("C", AssetType.ACAO);
+        advanceMillis(10);
+        cache.getCurrentPrice("D", AssetType.ACAO);
+
+        assertThat(cache.getStats().size()).isEqualTo(3);
+        assertThat(cache.getStats().evictions()).isEqualTo(1);
+
+        cache.getCurrentPrice("A", AssetType.ACAO);
+        assertThat(delegate.calls.get()).isEqualTo(5);
+    }
+
+    @Test
+    void getCurrentPrice_WhenDelegateFails_ShouldNotCacheFailure() {
+        delegate.failNext = true;
+
+        assertThatThrownBy(() -> cache.getCurrentPrice("BTC", AssetType.CRIPTO))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(cache.getCurrentPrice("BTC", AssetType.CRIPTO)).isNotNull();
+        assertThat(cache.getStats().size()).isEqualTo(1);
+    }
+
+    @Test
+    void getCurrentPrice_WhileDelegateIsLoading_ShouldShareTheLoadAndNotBlockOtherKeys() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger slowCalls = new AtomicInteger();
+        MarketDataService slowForA = new CountingMarketDataService() {
+            @Override
+            public BigDecimal getCurrentPrice(String symbol, AssetType assetType) {
+                if (symbol.equals("A")) {
+                    slowCalls.incrementAndGet();
+                    loading.countDown();
+                    await(release);
+                }
+                return super.getCurrentPrice(symbol, assetType);
+            }
+        };
+        CachingMarketDataService slowCache = new CachingMarketDataService(slowForA, 1000, 100, clock::get);
+
+        CompletableFuture<BigDecimal> first =
+                CompletableFuture.supplyAsync(() -> slowCache.getCurrentPrice("A", AssetType.ACAO));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<BigDecimal> second =
+                CompletableFuture.supplyAsync(() -> slowCache.getCurrentPrice("A", AssetType.ACAO));
+
+        // Every other key is served while A is still loading.
+        for (int i = 0; i < 50; i++) {
+            assertThat(slowCache.getCurrentPrice("K" + i, AssetType.ACAO)).isNotNull();
+        }
+        assertThat(first).isNotDone();
+        release.countDown();
+
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(first.get(5, TimeUnit.SECONDS));
+        assertThat(slowCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void getCurrentPrice_ShouldDropExpiredEntriesOnLaterMisses() {
+        cache.getCurrentPrice("A", AssetType.ACAO);
+        cache.getCurrentPrice("B", AssetType.ACAO);
+        advanceMillis(1000);
+
+        cache.getCurrentPrice("C", AssetType.ACAO);
+
+        assertThat(cache.getStats().size()).isEqualTo(1);
+        assertThat(cache.getStats().evictions()).isEqualTo(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void advanceMillis(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private static class CountingMarketDataService implements MarketDataService {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private boolean failNext;
+
+        @Override
+        public BigDecimal getCurrentPrice(String symbol, AssetType assetType) {
+            int call = calls.incrementAndGet();
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("quote unavailable");
+            }
+            return BigDecimal.valueOf(call);
+        }
+
+        @Override
+        public void updateAllMarketPrices() {
+        }
+    }
+}
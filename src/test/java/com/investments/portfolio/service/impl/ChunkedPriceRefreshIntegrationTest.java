@@ -0,0 +1,257 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.dto.InvestmentRequestDTO;
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.projection.FencingToken;
+import com.investments.portfolio.model.projection.MarketSymbol;
+import com.investments.portfolio.model.projection.SymbolPrice;
+import com.investments.portfolio.repository.InvestmentPriceJdbcRepository;
+import com.investments.portfolio.repository.InvestmentRepository;
+import com.investments.portfolio.repository.SchedulerLeaseJdbcRepository;
+import com.investments.portfolio.service.InvestmentService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs on H2 with {@code app.market-data.refresh.skip-locked=false}: H2 2.1 has no SKIP LOCKED, so these tests cover
+ * the waiting variant of the chunk lock. The SKIP LOCKED variant used on PostgreSQL is not exercised by this suite.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Slf4j
+class ChunkedPriceRefreshIntegrationTest {
+
+    private static final MarketSymbol PETR4 = new MarketSymbol("PETR4", AssetType.ACAO);
+    private static final int CHUNK_SIZE = 500;
+    private static final String FENCE_TEST_LEASE = "chunked-refresh-test";
+
+    @Autowired
+    private InvestmentService investmentService;
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private InvestmentPriceJdbcRepository priceRepository;
+
+    @Autowired
+    private NgramInvestmentSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SchedulerLeaseJdbcRepository leaseRepository;
+
+    @AfterEach
+    void cleanUp() {
+        investmentRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM scheduler_leases WHERE name = ?", FENCE_TEST_LEASE);
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void updateCurrentPricesInChunks_ShouldCommitEachChunkBeforeTheNext() throws Exception {
+        List<Long> ids = insertPositions(12);
+        long lockedId = ids.get(9);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> edit = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE investments SET quantity = 2 WHERE id = ?", lockedId);
+            locked.countDown();
+            await(release);
+        }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Integer> refresh;
+        try {
+            refresh = CompletableFuture.supplyAsync(() -> priceRepository.updateCurrentPricesInChunks(
+                    List.of(new SymbolPrice(PETR4, new BigDecimal("31.20"))), 4, null));
+            awaitUntil(() -> new BigDecimal("31.20").compareTo(currentPrice(ids.get(1))) == 0);
+
+            // The third chunk waits on the locked row, yet rows of the committed first chunk are free to edit.
+            investmentService.updateInvestment(ids.get(1), request(BigDecimal.valueOf(3)), null);
+            assertThat(refresh).isNotDone();
+        } finally {
+            release.countDown();
+        }
+        edit.get(5, TimeUnit.SECONDS);
+
+        assertThat(refresh.get(5, TimeUnit.SECONDS)).isEqualTo(12);
+        assertThat(investmentRepository.findAll()).allSatisfy(investment ->
+                assertThat(investment.getCurrentPrice()).isEqualByComparingTo("31.20"));
+    }
+
+    @Test
+    void updateCurrentPricesInChunks_WhenLeaseIsTakenOverMidChunk_ShouldNotWriteAfterTheTakeover() throws Exception {
+        leaseRepository.createIfAbsent(FENCE_TEST_LEASE);
+        long token = leaseRepository.tryAcquire(FENCE_TEST_LEASE, "node-a", Duration.ofMinutes(1)).orElseThrow();
+        List<Long> ids = insertPositions(12);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> edit = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE investments SET quantity = 2 WHERE id = ?", ids.get(5));
+            locked.countDown();
+            await(release);
+        }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Integer> refresh;
+        CompletableFuture<Integer> takeover;
+        try {
+            refresh = CompletableFuture.supplyAsync(() -> priceRepository.updateCurrentPricesInChunks(
+                    List.of(new SymbolPrice(PETR4, new BigDecimal("31.20"))), 4,
+                    new FencingToken(FENCE_TEST_LEASE, token)));
+            awaitUntil(() -> new BigDecimal("31.20").compareTo(currentPrice(ids.get(1))) == 0);
+            // Chunk 2 takes the lease row before it selects its rows, so once it is blocked it holds the lease row.
+            awaitUntil(() -> blockedSessions() > 0);
+
+            // The second chunk holds the lease row while it waits on the edited position; the takeover has to wait too.
+            takeover = CompletableFuture.supplyAsync(() -> jdbcTemplate.update(
+                    "UPDATE scheduler_leases SET fencing_token = fencing_token + 1, owner = 'node-b' WHERE name = ?",
+                    FENCE_TEST_LEASE));
+            Thread.sleep(100);
+            assertThat(takeover).isNotDone();
+        } finally {
+            release.countDown();
+        }
+        edit.get(5, TimeUnit.SECONDS);
+
+        assertThat(takeover.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        // Chunks either committed before the takeover or saw the new token and stopped; none wrote after it.
+        int written = refresh.get(5, TimeUnit.SECONDS);
+        assertThat(written).isIn(8, 12);
+        assertThat(ids.subList(0, written)).allSatisfy(id -> assertThat(currentPrice(id)).isEqualByComparingTo("31.20"));
+        assertThat(ids.subList(written, 12)).allSatisfy(id -> assertThat(currentPrice(id)).isEqualByComparingTo("10.00"));
+        assertThat(priceRepository.updateCurrentPricesInChunks(List.of(new SymbolPrice(PETR4, new BigDecimal("40.00"))),
+                4, new FencingToken(FENCE_TEST_LEASE, token))).isZero();
+    }
+
+    @Test
+    void updateInvestment_DuringRefreshOfLargeTable_ShouldNotConflictWithTheRefresh() throws Exception {
+        List<Long> ids = insertPositions(20_000);
+        // Distinct positions per PUT, so concurrent PUTs never conflict on the same version.
+        List<Long> targets = new ArrayList<>(ids);
+        Collections.shuffle(targets);
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        putConcurrently(clients, targets.subList(0, 200));
+        AtomicBoolean refreshing = new AtomicBoolean(true);
+        List<Long> refreshMs = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> refresh = CompletableFuture.runAsync(() -> {
+            int round = 0;
+            while (refreshing.get()) {
+                BigDecimal price = new BigDecimal(round++ % 2 == 0 ? "31.20" : "31.40");
+                long start = System.nanoTime();
+                priceRepository.updateCurrentPricesInChunks(List.of(new SymbolPrice(PETR4, price)), CHUNK_SIZE, null);
+                refreshMs.add(Duration.ofNanos(System.nanoTime() - start).toMillis());
+            }
+        });
+
+        List<Long> latencies = putConcurrently(clients, targets.subList(200, 600));
+        clients.shutdown();
+        refreshing.set(false);
+        refresh.get(60, TimeUnit.SECONDS);
+
+        Collections.sort(latencies);
+        long p99Ms = Duration.ofNanos(latencies.get((int) Math.ceil(latencies.size() * 0.99) - 1)).toMillis();
+        long fastestRefreshMs = refreshMs.stream().mapToLong(Long::longValue).min().orElseThrow();
+        // Reported, not asserted: wall-clock ratios depend on the machine running the build.
+        log.info("PUT p99 {} ms during {} refreshes of {} rows (fastest {} ms)",
+                p99Ms, refreshMs.size(), ids.size(), fastestRefreshMs);
+
+        assertThat(latencies).hasSize(400);
+        assertThat(refreshMs).isNotEmpty();
+        assertThat(investmentRepository.findAllById(targets.subList(200, 600)))
+                .allSatisfy(investment -> assertThat(investment.getQuantity()).isGreaterThan(BigDecimal.ONE));
+    }
+
+    private List<Long> putConcurrently(ExecutorService clients, List<Long> ids) {
+        List<CompletableFuture<Long>> puts = IntStream.range(0, ids.size())
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                    long start = System.nanoTime();
+                    investmentService.updateInvestment(ids.get(i), request(BigDecimal.valueOf(2 + i % 5)), null);
+                    return System.nanoTime() - start;
+                }, clients))
+                .toList();
+        return new ArrayList<>(puts.stream().map(CompletableFuture::join).toList());
+    }
+
+    private List<Long> insertPositions(int count) {
+        List<Investment> positions = IntStream.range(0, count)
+                .mapToObj(i -> Investment.builder()
+                        .type(AssetType.ACAO)
+                        .symbol("PETR4")
+                        .name("PETR4")
+                        .quantity(BigDecimal.ONE)
+                        .purchasePrice(BigDecimal.TEN)
+                        .currentPrice(BigDecimal.TEN)
+                        .purchaseDate(LocalDate.of(2025, 1, 1))
+                        .build())
+                .toList();
+        return investmentRepository.saveAll(positions).stream().map(Investment::getId).toList();
+    }
+
+    private long blockedSessions() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS WHERE BLOCKER_ID IS NOT NULL", Long.class);
+    }
+
+    private BigDecimal currentPrice(long id) {
+        return jdbcTemplate.queryForObject("SELECT current_price FROM investments WHERE id = ?", BigDecimal.class, id);
+    }
+
+    private InvestmentRequestDTO request(BigDecimal quantity) {
+        return InvestmentRequestDTO.builder()
+                .type(AssetType.ACAO)
+                .symbol("PETR4")
+                .quantity(quantity)
+                .purchasePrice(BigDecimal.TEN)
+                .purchaseDate(LocalDate.of(2025, 1, 1))
+                .build();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5 s").isLessThan(deadline);
+            // Sleep rather than spin, so the refresh thread gets the CPU on single-core build agents.
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.InvestmentsPortfolioApplication;
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.projection.MarketSymbol;
+import com.investments.portfolio.repository.InvestmentRepository;
+import com.investments.portfolio.service.InvestmentService;
+import com.investments.portfolio.service.PortfolioVersionProvider;
+import com.investments.portfolio.service.PriceBook;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two application contexts sharing one H2 database stand in for two nodes behind a load balancer.
+class ClusteredPriceRefreshIntegrationTest {
+
+    private static final String DATABASE_URL =
+            "jdbc:h2:mem:clustered_refresh;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    private static final MarketSymbol PETR4 = new MarketSymbol("PETR4", AssetType.ACAO);
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    void startNodes() {
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+        // Both nodes run the refresh once on startup; wait for those runs so they do not overlap the test's cycles.
+        awaitUntil(() -> cycles(nodeA) + notLeader(nodeA) >= 1 && cycles(nodeB) + notLeader(nodeB) >= 1);
+        nodeA.getBean(InvestmentRepository.class).saveAndFlush(Investment.builder()
+                .type(AssetType.ACAO)
+                .symbol("PETR4")
+                .name("PETR4")
+                .quantity(BigDecimal.ONE)
+                .purchasePrice(BigDecimal.TEN)
+                .purchaseDate(LocalDate.of(2025, 1, 1))
+                .build());
+    }
+
+    @AfterEach
+    void stopNodes() {
+        JdbcTemplate jdbcTemplate = (nodeB.isActive() ? nodeB : nodeA).getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM investments");
+        jdbcTemplate.update("DELETE FROM scheduler_leases");
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void updateAllMarketPrices_ShouldRunOnExactlyOneNodePerInterval() {
+        double leaderCyclesBefore = cycles(nodeA) + cycles(nodeB);
+        double followerCyclesBefore = notLeader(nodeA) + notLeader(nodeB);
+
+        for (int round = 1; round <= 3; round++) {
+            refreshConcurrently(nodeA, nodeB);
+
+            assertThat(cycles(nodeA) + cycles(nodeB)).isEqualTo(leaderCyclesBefore + round);
+            assertThat(notLeader(nodeA) + notLeader(nodeB)).isEqualTo(followerCyclesBefore + round);
+        }
+        assertThat(cycles(nodeA) - leaderCyclesBefore == 3 || cycles(nodeB) - leaderCyclesBefore == 3)
+                .as("the same node keeps the lease between rounds")
+                .isTrue();
+    }
+
+    @Test
+    void updateAllMarketPrices_WhenLeaderStops_ShouldFailOverWithANewFencingToken() {
+        refreshConcurrently(nodeA, nodeB);
+        ConfigurableApplicationContext leader = cycles(nodeA) > cycles(nodeB) ? nodeA : nodeB;
+        ConfigurableApplicationContext follower = leader == nodeA ? nodeB : nodeA;
+        JdbcTemplate jdbcTemplate = follower.getBean(JdbcTemplate.class);
+        long tokenBefore = fencingToken(jdbcTemplate);
+
+        awaitUntil(() -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM investments WHERE current_price IS NOT NULL", Long.class) == 1);
+        follower.getBean(SimulationMarketDataService.class).updateAllMarketPrices();
+        assertThat(follower.getBean(PriceBook.class).quote(PETR4)).isPresent();
+
+        leader.close();
+        double cyclesBefore = cycles(follower);
+        follower.getBean(SimulationMarketDataService.class).updateAllMarketPrices();
+
+        assertThat(cycles(follower)).isEqualTo(cyclesBefore + 1);
+        assertThat(fencingToken(jdbcTemplate)).isGreaterThan(tokenBefore);
+    }
+
+    @Test
+    void updateMarketPrice_OnOneNode_ShouldChangeThePortfolioETagOnEveryNode() {
+        PortfolioVersionProvider versionOnA = nodeA.getBean(PortfolioVersionProvider.class);
+        PortfolioVersionProvider versionOnB = nodeB.getBean(PortfolioVersionProvider.class);
+        String etagBefore = versionOnB.currentETag();
+        long id = nodeA.getBean(JdbcTemplate.class).queryForObject("SELECT id FROM investments", Long.class);
+
+        nodeA.getBean(InvestmentService.class).updateMarketPrice(id, new BigDecimal("12.34"));
+
+        assertThat(versionOnA.currentETag()).isNotEqualTo(etagBefore);
+        // Node B serves its own copy of the version and picks the write up on its next refresh.
+        awaitUntil(() -> versionOnB.currentETag().equals(versionOnA.currentETag()));
+    }
+
+    private ConfigurableApplicationContext startNode(String nodeId) {
+        return new SpringApplicationBuilder(InvestmentsPortfolioApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                // Arguments rather than default properties, which application-test.properties would override.
+                .run("--spring.datasource.url=" + DATABASE_URL,
+                        "--spring.jmx.enabled=false",
+                        "--app.scheduler.node-id=" + nodeId,
+                        "--app.market-data.simulation.update-rate-ms=3600000");
+    }
+
+    private static void refreshConcurrently(ConfigurableApplicationContext... nodes) {
+        CompletableFuture.allOf(List.of(nodes).stream()
+                        .map(node -> CompletableFuture.runAsync(
+                                node.getBean(SimulationMarketDataService.class)::updateAllMarketPrices))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    private static double cycles(ConfigurableApplicationContext node) {
+        return node.getBean(MeterRegistry.class).get("portfolio.market-data.refresh.duration").timer().count();
+    }
+
+    private static double notLeader(ConfigurableApplicationContext node) {
+        return node.getBean(MeterRegistry.class).get("portfolio.market-data.refresh.not-leader").counter().count();
+    }
+
+    private static long fencingToken(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("SELECT fencing_token FROM scheduler_leases WHERE name = ?", Long.class,
+                SimulationMarketDataService.REFRESH_TASK);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 10 s").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.projection.MarketSymbol;
+import com.investments.portfolio.model.projection.PriceQuote;
+import com.investments.portfolio.repository.InvestmentPriceJdbcRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class ConcurrentPriceBookTest {
+
+    private static final MarketSymbol PETR4 = new MarketSymbol("PETR4", AssetType.ACAO);
+    private static final MarketSymbol BTC = new MarketSymbol("BTC", AssetType.CRIPTO);
+
+    private final InvestmentPriceJdbcRepository priceRepository = mock(InvestmentPriceJdbcRepository.class);
+
+    private final ConcurrentPriceBook priceBook = new ConcurrentPriceBook(priceRepository);
+
+    @Test
+    void publish_ShouldReplaceQuoteAndBumpVersionPerSymbol() {
+        priceBook.publish(Map.of(PETR4, new BigDecimal("30.00"), BTC, new BigDecimal("250000.00")));
+        List<PriceQuote> published = priceBook.publish(Map.of(PETR4, new BigDecimal("31.00")));
+
+        assertThat(published).singleElement().satisfies(quote -> {
+            assertThat(quote.price()).isEqualByComparingTo("31.00");
+            assertThat(quote.version()).isEqualTo(2);
+        });
+        assertThat(priceBook.quote(BTC)).map(PriceQuote::version).hasValue(1L);
+        assertThat(priceBook.quote(new MarketSymbol("PETR4", AssetType.FUNDO))).isEmpty();
+    }
+
+    @Test
+    void initialize_ShouldSeedFromDatabaseWithoutOverwritingPublishedQuotes() {
+        given(priceRepository.findLatestPrices()).willReturn(List.of(
+                new PriceQuote(PETR4, new BigDecimal("29.00"), Instant.EPOCH, 0),
+                new PriceQuote(BTC, new BigDecimal("240000.00"), Instant.EPOCH, 0)));
+        priceBook.publish(Map.of(PETR4, new BigDecimal("31.00")));
+
+        priceBook.initialize();
+
+        assertThat(priceBook.snapshot()).hasSize(2);
+        assertThat(priceBook.quote(PETR4)).map(PriceQuote::price).hasValue(new BigDecimal("31.00"));
+        assertThat(priceBook.quote(BTC)).map(PriceQuote::version).hasValue(0L);
+    }
+
+    @Test
+    void quote_ShouldNeverObserveVersionGoingBackwardsWhilePublishing() throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> IntStream.rangeClosed(1, 20_000)
+                .forEach(i -> priceBook.publish(Map.of(PETR4, BigDecimal.valueOf(i)))))
+                .whenComplete((ignored, error) -> running.set(false));
+
+        List<CompletableFuture<Boolean>> readers = IntStream.range(0, 4)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                    long lastVersion = 0;
+                    while (running.get()) {
+                        PriceQuote quote = priceBook.quote(PETR4).orElse(null);
+                        if (quote != null) {
+                            if (quote.version() < lastVersion
+                                    || quote.price().longValueExact() != quote.version()) {
+                                return false;
+                            }
+                            lastVersion = quote.version();
+                        }
+                    }
+                    return true;
+                }))
+                .toList();
+
+        writer.get(10, TimeUnit.SECONDS);
+        for (CompletableFuture<Boolean> reader : readers) {
+            assertThat(reader.get(10, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(priceBook.quote(PETR4)).map(PriceQuote::version).hasValue(20_000L);
+    }
+}
@@ -0,0 +1,99 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.dto.PositionValuationDTO;
+import com.investments.portfolio.model.dto.ValuationDTO;
+import com.investments.portfolio.model.dto.ValuationTotalDTO;
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.repository.InvestmentPriceJdbcRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FixedPointValuationTest {
+
+    @Test
+    void add_ShouldMatchEntityBigDecimalResultsPerPositionAndInTotal() {
+        SplittableRandom random = new SplittableRandom(42);
+        FixedPointValuation valuation = new FixedPointValuation(true);
+        List<Investment> investments = new ArrayList<>();
+
+        for (long id = 1; id <= 5_000; id++) {
+            long quantityUnits = random.nextLong(1, 100_000_000L);
+            long purchaseCents = random.nextLong(0, 10_000_000L);
+            long currentCents = random.nextInt(10) == 0 ? InvestmentPriceJdbcRepository.NO_PRICE : random.nextLong(0, 10_000_000L);
+            AssetType type = AssetType.values()[random.nextInt(AssetType.values().length)];
+            investments.add(Investment.builder()
+                    .id(id)
+                    .type(type)
+                    .quantity(BigDecimal.valueOf(quantityUnits, 4))
+                    .purchasePrice(BigDecimal.valueOf(purchaseCents, 2))
+                    .currentPrice(currentCents == InvestmentPriceJdbcRepository.NO_PRICE ? null : BigDecimal.valueOf(currentCents, 2))
+                    .build());
+            valuation.add(id, type, "SYM", quantityUnits, purchaseCents, currentCents);
+        }
+
+        ValuationDTO result = valuation.toDTO();
+
+        assertThat(result.getPositions()).hasSize(investments.size());
+        for (int i = 0; i < investments.size(); i++) {
+            Investment expected = investments.get(i);
+            PositionValuationDTO actual = result.getPositions().get(i);
+            assertThat(actual.getMarketValue()).isEqualTo(money(expected.currentValue()));
+            assertThat(actual.getInvestedValue()).isEqualTo(money(expected.investedValue()));
+            assertThat(actual.getProfitLoss()).isEqualTo(money(expected.profitLoss()));
+            assertThat(actual.getProfitLossPercentage()).isEqualTo(expected.profitLossPercentage());
+        }
+
+        BigDecimal market = investments.stream().map(Investment::currentValue).reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal invested = investments.stream().map(Investment::investedValue).reduce(BigDecimal.ZERO, BigDecimal::add);
+        ValuationTotalDTO total = result.getTotal();
+        assertThat(total.getPositionCount()).isEqualTo(investments.size());
+        assertThat(total.getMarketValue()).isEqualTo(money(market));
+        assertThat(total.getInvestedValue()).isEqualTo(money(invested));
+        assertThat(total.getProfitLoss()).isEqualTo(money(market.subtract(invested)));
+        assertThat(total.getProfitLossPercentage()).isEqualTo(market.subtract(invested)
+                .divide(invested, 4, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100)));
+        assertThat(result.getTotalByType().values().stream().mapToInt(ValuationTotalDTO::getPositionCount).sum())
+                .isEqualTo(investments.size());
+    }
+
+    @Test
+    void add_WhenValuesOverflowLong_ShouldStayExact() {
+        FixedPointValuation valuation = new FixedPointValuation(true);
+        long quantityUnits = 99_999_999_999_9999L;
+        long cents = 99_999_999_999_99L;
+
+        valuation.add(1, AssetType.OUTRO, "BIG", quantityUnits, cents, cents);
+        valuation.add(2, AssetType.OUTRO, "MID", 3_000_000_0000L, 2_000_000_00L, 2_500_000_00L);
+        valuation.add(3, AssetType.OUTRO, "MID", 3_000_000_0000L, 2_000_000_00L, 2_500_000_00L);
+
+        BigDecimal big = BigDecimal.valueOf(quantityUnits, 4).multiply(BigDecimal.valueOf(cents, 2));
+        BigDecimal mid = new BigDecimal("3000000").multiply(new BigDecimal("2500000.00"));
+        ValuationDTO result = valuation.toDTO();
+
+        assertThat(result.getPositions().get(0).getMarketValue()).isEqualTo(money(big));
+        assertThat(result.getPositions().get(1).getMarketValue()).isEqualTo(money(mid));
+        assertThat(result.getTotal().getMarketValue()).isEqualTo(money(big.add(mid).add(mid)));
+    }
+
+    @Test
+    void divideHalfUp_ShouldRoundTiesAwayFromZero() {
+        assertThat(FixedPointValuation.divideHalfUp(15, 10)).isEqualTo(2);
+        assertThat(FixedPointValuation.divideHalfUp(-15, 10)).isEqualTo(-2);
+        assertThat(FixedPointValuation.divideHalfUp(14, 10)).isEqualTo(1);
+        assertThat(FixedPointValuation.divideHalfUp(-14, 10)).isEqualTo(-1);
+        assertThat(FixedPointValuation.divideHalfUp(0, 10)).isZero();
+    }
+
+    private static BigDecimal money(BigDecimal value) {
+        return value.setScale(2, RoundingMode.HALF_UP);
+    }
+}
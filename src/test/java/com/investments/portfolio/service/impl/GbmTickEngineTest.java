@@ -0,0 +1,86 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.projection.MarketSymbol;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GbmTickEngineTest {
+
+    private static final MarketSymbol PETR4 = new MarketSymbol("PETR4", AssetType.ACAO);
+    private static final MarketSymbol BTC = new MarketSymbol("BTC", AssetType.CRIPTO);
+
+    @Test
+    void advance_WithSameSeed_ShouldReproducePathsWhateverTheRegistrationOrder() {
+        GbmTickEngine first = new GbmTickEngine(7L, 1000, 86_400.0, 0.0);
+        GbmTickEngine second = new GbmTickEngine(7L, 1000, 86_400.0, 0.0);
+        GbmTickEngine otherSeed = new GbmTickEngine(8L, 1000, 86_400.0, 0.0);
+
+        int petr4 = first.register(PETR4, 30.50, 0.05);
+        int btc = first.register(BTC, 250_000.00, 0.10);
+        second.register(BTC, 250_000.00, 0.10);
+        second.register(PETR4, 30.50, 0.05);
+        otherSeed.register(PETR4, 30.50, 0.05);
+        first.advance(500);
+        second.advance(500);
+        otherSeed.advance(500);
+
+        assertThat(first.price(petr4)).isNotEqualTo(30.50)
+                .isEqualTo(second.price(second.register(PETR4, 0, 0)))
+                .isNotEqualTo(otherSeed.price(0));
+        assertThat(first.price(btc)).isEqualTo(second.price(second.register(BTC, 0, 0)));
+    }
+
+    @Test
+    void advance_WithSeveralTickThreads_ShouldGiveTheSamePricesAsOne() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GbmTickEngine single = new GbmTickEngine(11L, 1000, 86_400.0, 0.0);
+        GbmTickEngine sharded = new GbmTickEngine(registry, 11L, 1000, 86_400.0, 0.0, 3, 10, false);
+        List<MarketSymbol> symbols = IntStream.range(0, 50)
+                .mapToObj(i -> new MarketSymbol("SYM" + i, AssetType.ACAO))
+                .toList();
+        symbols.forEach(symbol -> {
+            single.register(symbol, 100.0, 0.03);
+            sharded.register(symbol, 100.0, 0.03);
+        });
+
+        single.advance(200);
+        sharded.advance(200);
+
+        for (int i = 0; i < symbols.size(); i++) {
+            assertThat(sharded.price(i)).isEqualTo(single.price(i));
+        }
+        assertThat(registry.get("portfolio.market-data.simulation.ticks").counter().count()).isEqualTo(200.0 * 50);
+    }
+
+    @Test
+    void advance_ShouldProduceLogReturnsWithTheConfiguredVolatility() {
+        // 100 ticks per second with one simulated day per second: 100 ticks are one day.
+        GbmTickEngine engine = new GbmTickEngine(3L, 100, 86_400.0, 0.0);
+        int symbols = 4000;
+        for (int i = 0; i < symbols; i++) {
+            engine.register(new MarketSymbol("SYM" + i, AssetType.FUNDO), 100.0, 0.02);
+        }
+
+        engine.advance(100);
+
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (int i = 0; i < symbols; i++) {
+            double logReturn = Math.log(engine.price(i) / 100.0);
+            sum += logReturn;
+            sumOfSquares += logReturn * logReturn;
+        }
+        double mean = sum / symbols;
+        double deviation = Math.sqrt(sumOfSquares / symbols - mean * mean);
+        assertThat(engine.size()).isEqualTo(symbols);
+        assertThat(mean).isCloseTo(-0.0002, within(0.0015));
+        assertThat(deviation).isCloseTo(0.02, within(0.001));
+    }
+}
@@ -0,0 +1,138 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.exception.BatchValidationException;
+import com.investments.portfolio.model.dto.BatchCreateResultDTO;
+import com.investments.portfolio.model.dto.InvestmentRequestDTO;
+import com.investments.portfolio.model.dto.InvestmentResponseDTO;
+import com.investments.portfolio.model.dto.SummaryDTO;
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.repository.InvestmentRepository;
+import com.investments.portfolio.service.InvestmentService;
+import com.investments.portfolio.service.PortfolioVersionProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class InvestmentBatchImportIntegrationTest {
+
+    @Autowired
+    private InvestmentService investmentService;
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private NgramInvestmentSearchIndex searchIndex;
+
+    @Autowired
+    private PortfolioVersionProvider portfolioVersion;
+
+    @AfterEach
+    void cleanUp() {
+        investmentRepository.deleteAllInBatch();
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void createInvestments_ShouldInsertAllPositionsAndUpdateSummary() {
+        SummaryDTO before = investmentService.getSummary();
+        List<InvestmentRequestDTO> requests = IntStream.range(0, 2500)
+                .mapToObj(i -> request(i % 2 == 0 ? AssetType.ACAO : AssetType.CRIPTO, i % 2 == 0 ? "petr4" : "btc"))
+                .toList();
+
+        BatchCreateResultDTO result = investmentService.createInvestments(requests);
+
+        assertThat(result.getCreated()).isEqualTo(2500);
+        List<Investment> saved = investmentRepository.findAll();
+        assertThat(saved).hasSize(2500);
+        assertThat(saved).allSatisfy(investment -> {
+            assertThat(investment.getId()).isNotNull();
+            assertThat(investment.getSymbol()).isIn("PETR4", "BTC");
+            assertThat(investment.getCurrentPrice()).isNotNull();
+        });
+        assertThat(saved.stream().filter(i -> i.getSymbol().equals("BTC")).map(Investment::getCurrentPrice).distinct())
+                .hasSize(1);
+
+        SummaryDTO after = investmentService.getSummary();
+        assertThat(after.getAssetCount() - before.getAssetCount()).isEqualTo(2500);
+        assertThat(after.getTotalInvested().subtract(before.getTotalInvested()))
+                .isEqualByComparingTo(new BigDecimal("25000.00"));
+    }
+
+    @Test
+    void createInvestments_ShouldBumpPortfolioVersionOnlyAfterCommit() {
+        String before = portfolioVersion.currentETag();
+
+        assertThatThrownBy(() -> investmentService.createInvestments(List.of(
+                InvestmentRequestDTO.builder().type(AssetType.ACAO).build())))
+                .isInstanceOf(BatchValidationException.class);
+        assertThat(portfolioVersion.currentETag()).isEqualTo(before);
+
+        investmentService.createInvestments(List.of(request(AssetType.ACAO, "PETR4")));
+        assertThat(portfolioVersion.currentETag()).isNotEqualTo(before);
+    }
+
+    @Test
+    void createInvestments_WhenAnyItemIsInvalid_ShouldRejectWholeBatch() {
+        List<InvestmentRequestDTO> requests = new ArrayList<>(List.of(
+                request(AssetType.ACAO, "PETR4"),
+                request(AssetType.ACAO, "VALE3")));
+        requests.add(InvestmentRequestDTO.builder().type(AssetType.ACAO).build());
+
+        assertThatThrownBy(() -> investmentService.createInvestments(requests))
+                .isInstanceOfSatisfying(BatchValidationException.class, ex ->
+                        assertThat(ex.getViolations())
+                                .extracting(BatchValidationException.Violation::field)
+                                .contains("items[2].symbol", "items[2].quantity"));
+        assertThat(investmentRepository.count()).isZero();
+    }
+
+    @Test
+    void importInvestments_WhenStreamFailsMidway_ShouldRollBackEarlierChunks() {
+        List<InvestmentRequestDTO> requests = new ArrayList<>(IntStream.range(0, 1500)
+                .mapToObj(i -> request(AssetType.FUNDO, "BOVA11"))
+                .toList());
+        requests.add(InvestmentRequestDTO.builder().symbol("BROKEN").build());
+
+        assertThatThrownBy(() -> investmentService.importInvestments(requests.iterator()))
+                .isInstanceOf(BatchValidationException.class);
+        assertThat(investmentRepository.count()).isZero();
+    }
+
+    @Test
+    void searchInvestments_ShouldFindPositionsImportedInBatch() {
+        investmentService.createInvestments(List.of(
+                request(AssetType.ACAO, "PETR4"),
+                request(AssetType.ACAO, "VALE3"),
+                request(AssetType.ACAO, "PETR3")));
+
+        assertThat(investmentService.searchInvestments("etr", null, 10))
+                .extracting(InvestmentResponseDTO::getSymbol)
+                .containsExactly("PETR4", "PETR3");
+        assertThat(investmentService.searchInvestments("etr", null, 1)).hasSize(1);
+    }
+
+    private InvestmentRequestDTO request(AssetType type, String symbol) {
+        return InvestmentRequestDTO.builder()
+                .type(type)
+                .symbol(symbol)
+                .quantity(BigDecimal.ONE)
+                .purchasePrice(BigDecimal.TEN)
+                .purchaseDate(LocalDate.of(2025, 1, 1))
+                .build();
+    }
+}
@@ -0,0 +1,170 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.dto.InvestmentRequestDTO;
+import com.investments.portfolio.model.dto.InvestmentResponseDTO;
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.projection.MarketSymbol;
+import com.investments.portfolio.model.projection.SymbolPrice;
+import com.investments.portfolio.repository.InvestmentPriceJdbcRepository;
+import com.investments.portfolio.repository.InvestmentRepository;
+import com.investments.portfolio.service.InvestmentService;
+import com.investments.portfolio.service.PriceBook;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class InvestmentOptimisticLockingIntegrationTest {
+
+    @Autowired
+    private InvestmentService investmentService;
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private NgramInvestmentSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PriceBook priceBook;
+
+    @Autowired
+    private InvestmentPriceJdbcRepository priceRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void cleanUp() {
+        investmentRepository.deleteAllInBatch();
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void updateInvestment_ShouldBumpVersionAndRejectStaleExpectedVersion() {
+        InvestmentResponseDTO created = investmentService.createInvestment(request("10"));
+        assertThat(created.getVersion()).isZero();
+
+        InvestmentResponseDTO updated = investmentService.updateInvestment(created.getId(), request("20"), 0L);
+        assertThat(updated.getVersion()).isEqualTo(1);
+
+        assertThatThrownBy(() -> investmentService.updateInvestment(created.getId(), request("30"), 0L))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThatThrownBy(() -> investmentService.deleteInvestment(created.getId(), 0L))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(investmentRepository.findById(created.getId())).get()
+                .satisfies(investment -> assertThat(investment.getQuantity()).isEqualByComparingTo("20"));
+
+        investmentService.deleteInvestment(created.getId(), 1L);
+        assertThat(investmentRepository.existsById(created.getId())).isFalse();
+    }
+
+    @Test
+    void updateInvestment_ShouldNotOverwriteCurrentPriceWrittenMeanwhile() {
+        Long id = investmentService.createInvestment(request("10")).getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Investment investment = investmentRepository.findById(id).orElseThrow();
+            // The price refresh commits a new price between this edit's read and its flush.
+            CompletableFuture.runAsync(() ->
+                    jdbcTemplate.update("UPDATE investments SET current_price = 77.70 WHERE id = ?", id)).join();
+            investment.setQuantity(new BigDecimal("15"));
+        });
+
+        Investment stored = investmentRepository.findById(id).orElseThrow();
+        assertThat(stored.getQuantity()).isEqualByComparingTo("15");
+        assertThat(stored.getCurrentPrice()).isEqualByComparingTo("77.70");
+    }
+
+    @Test
+    void updateMarketPrice_ShouldWriteOnlyThePriceWithoutChangingVersion() {
+        InvestmentResponseDTO created = investmentService.createInvestment(request("10"));
+
+        investmentService.updateMarketPrice(created.getId(), new BigDecimal("31.27"));
+
+        Investment stored = investmentRepository.findById(created.getId()).orElseThrow();
+        assertThat(stored.getCurrentPrice()).isEqualByComparingTo("31.27");
+        assertThat(stored.getQuantity()).isEqualByComparingTo("10");
+        assertThat(stored.getVersion()).isZero();
+        assertThatThrownBy(() -> investmentService.updateMarketPrice(-1L, BigDecimal.ONE))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void updateMarketPrice_ShouldBeValuedAndKeptByTheRefresh() throws Exception {
+        MarketSymbol symbol = new MarketSymbol("WEGE3", AssetType.ACAO);
+        Long id = investmentService.createInvestment(InvestmentRequestDTO.builder()
+                .type(AssetType.ACAO)
+                .symbol(symbol.symbol())
+                .quantity(BigDecimal.TEN)
+                .purchasePrice(BigDecimal.TEN)
+                .purchaseDate(LocalDate.of(2025, 1, 1))
+                .build()).getId();
+        priceBook.publish(Map.of(symbol, new BigDecimal("20.00")));
+        assertThat(valuedPrice(id)).isEqualByComparingTo("20.00");
+
+        mockMvc.perform(patch("/investments/{id}/price", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currentPrice\": 31.27}"))
+                .andExpect(status().isNoContent());
+        assertThat(valuedPrice(id)).isEqualByComparingTo("31.27");
+
+        priceBook.publish(Map.of(symbol, new BigDecimal("25.00")));
+        // The refresh skips the manually priced position instead of overwriting it.
+        priceRepository.updateCurrentPricesInChunks(
+                List.of(new SymbolPrice(symbol, new BigDecimal("25.00"))), 500, null);
+        assertThat(valuedPrice(id)).isEqualByComparingTo("31.27");
+        assertThat(investmentRepository.findById(id)).hasValueSatisfying(investment ->
+                assertThat(investment.getCurrentPrice()).isEqualByComparingTo("31.27"));
+    }
+
+    private BigDecimal valuedPrice(Long id) throws Exception {
+        String body = mockMvc.perform(get("/investments/valuation").param("type", "ACAO"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<Object> prices = JsonPath.read(body, "$.positions[?(@.id == " + id + ")].currentPrice");
+        assertThat(prices).hasSize(1);
+        return new BigDecimal(prices.get(0).toString());
+    }
+
+    private InvestmentRequestDTO request(String quantity) {
+        return InvestmentRequestDTO.builder()
+                .type(AssetType.ACAO)
+                .symbol("PETR4")
+                .quantity(new BigDecimal(quantity))
+                .purchasePrice(BigDecimal.TEN)
+                .purchaseDate(LocalDate.of(2025, 1, 1))
+                .build();
+    }
+}
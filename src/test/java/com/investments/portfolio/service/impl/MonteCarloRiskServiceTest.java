@@ -0,0 +1,159 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.exception.InvalidRiskQueryException;
+import com.investments.portfolio.model.dto.RiskDTO;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.repository.InvestmentPriceJdbcRepository.ValuationRowHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+
+class MonteCarloRiskServiceTest {
+
+    private final FixedPointValuationService valuationService = mock(FixedPointValuationService.class);
+
+    private final SimulationMarketDataService marketDataService = new SimulationMarketDataService(
+            null, null, null, null, null, null, null, null, null, null, null);
+
+    private final ForkJoinPool singleThread = new ForkJoinPool(1);
+
+    private final ForkJoinPool fourThreads = new ForkJoinPool(4);
+
+    private List<Row> rows = List.of();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(marketDataService, "priceVariationPercentage", 10.0);
+        willAnswer(invocation -> {
+            ValuationRowHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = rows.get(i);
+                handler.accept(i + 1, row.type(), row.symbol(), row.quantityUnits(), row.priceCents(),
+                        row.priceCents());
+            }
+            return null;
+        }).given(valuationService).forEachPricedRow(isNull(), any());
+    }
+
+    @AfterEach
+    void shutdownPools() {
+        singleThread.shutdownNow();
+        fourThreads.shutdownNow();
+    }
+
+    @Test
+    void getRisk_ForSingleSymbol_ShouldMatchTheUniformDailyMove() {
+        rows = List.of(new Row(AssetType.ACAO, "PETR4", 100_000, 3000));
+
+        RiskDTO risk = service(fourThreads).getRisk(1, 200_000, 0.95, 7L);
+
+        // A 15% uniform move on 300.00: the 5% quantile loses 300 * 0.15 * 0.90 and the tail averages 300 * 0.15 * 0.95.
+        assertThat(risk.getTotal().getMarketValue()).isEqualByComparingTo("300.00");
+        assertThat(risk.getTotal().getValueAtRisk().doubleValue()).isCloseTo(40.50, within(0.5));
+        assertThat(risk.getTotal().getExpectedShortfall().doubleValue()).isCloseTo(42.75, within(0.5));
+        assertThat(risk.getTotalByType().get(AssetType.ACAO).getValueAtRisk())
+                .isEqualByComparingTo(risk.getTotal().getValueAtRisk());
+    }
+
+    @Test
+    void getRisk_WithSameSeed_ShouldNotDependOnParallelism() {
+        rows = List.of(
+                new Row(AssetType.ACAO, "PETR4", 100_000, 3000),
+                new Row(AssetType.ACAO, "PETR4", 50_000, 3000),
+                new Row(AssetType.CRIPTO, "BTC", 5_000, 35_000_000),
+                new Row(AssetType.RENDA_FIXA, "CDB", 10_000, 100_000));
+
+        RiskDTO single = service(singleThread).getRisk(5, 50_000, 0.99, 42L);
+        RiskDTO parallel = service(fourThreads).getRisk(5, 50_000, 0.99, 42L);
+
+        assertThat(parallel.getSeed()).isEqualTo(42L);
+        assertThat(parallel.getTotal().getValueAtRisk()).isEqualByComparingTo(single.getTotal().getValueAtRisk());
+        assertThat(parallel.getTotal().getExpectedShortfall())
+                .isEqualByComparingTo(single.getTotal().getExpectedShortfall());
+        assertThat(parallel.getTotalByType()).containsOnlyKeys(AssetType.ACAO, AssetType.CRIPTO, AssetType.RENDA_FIXA);
+        assertThat(parallel.getTotalByType().get(AssetType.CRIPTO).getExpectedShortfall())
+                .isEqualByComparingTo(single.getTotalByType().get(AssetType.CRIPTO).getExpectedShortfall());
+        assertThat(parallel.getTotalByType().get(AssetType.ACAO).getPositionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getRisk_ShouldNotExceedTheSumOfTheStandaloneRisks() {
+        rows = List.of(
+                new Row(AssetType.ACAO, "PETR4", 100_000, 3000),
+                new Row(AssetType.CRIPTO, "BTC", 100_000, 3000));
+
+        RiskDTO risk = service(fourThreads).getRisk(1, 100_000, 0.99, 1L);
+
+        assertThat(risk.getTotal().getExpectedShortfall()).isLessThan(
+                risk.getTotalByType().get(AssetType.ACAO).getExpectedShortfall()
+                        .add(risk.getTotalByType().get(AssetType.CRIPTO).getExpectedShortfall()));
+        assertThat(risk.getTotal().getExpectedShortfall()).isGreaterThanOrEqualTo(risk.getTotal().getValueAtRisk());
+    }
+
+    @Test
+    void getRisk_WithEmptyPortfolio_ShouldReturnZeroRisk() {
+        RiskDTO risk = service(singleThread).getRisk(null, 1000, null, null);
+
+        assertThat(risk.getTotal().getPositionCount()).isZero();
+        assertThat(risk.getTotal().getValueAtRisk()).isEqualByComparingTo("0");
+        assertThat(risk.getTotalByType()).isEmpty();
+        assertThat(risk.getSeed()).isNotNull();
+    }
+
+    @Test
+    void getRisk_WithParametersOutOfRange_ShouldBeRejected() {
+        MonteCarloRiskService service = service(singleThread);
+
+        assertThatThrownBy(() -> service.getRisk(0, null, null, null))
+                .isInstanceOf(InvalidRiskQueryException.class)
+                .hasMessageContaining("horizonDays");
+        assertThatThrownBy(() -> service.getRisk(null, 2_000_001, null, null))
+                .isInstanceOf(InvalidRiskQueryException.class)
+                .hasMessageContaining("paths");
+        assertThatThrownBy(() -> service.getRisk(null, null, 1.0, null))
+                .isInstanceOf(InvalidRiskQueryException.class)
+                .hasMessageContaining("confidence");
+    }
+
+    @Test
+    void tailRisk_ShouldMatchTheSortedTail() {
+        SplittableRandom random = new SplittableRandom(11L);
+        // Rounded so the paths repeat values, as a book of few symbols does.
+        double[] pnl = random.doubles(10_001, -50, 50).map(Math::rint).toArray();
+        double[] sorted = pnl.clone();
+        Arrays.sort(sorted);
+        int tail = (int) Math.ceil(sorted.length * 0.01);
+
+        double[] risk = MonteCarloSimulation.tailRisk(pnl, 0.99);
+
+        assertThat(risk[0]).isEqualTo(-sorted[tail - 1]);
+        assertThat(risk[1]).isCloseTo(-Arrays.stream(sorted, 0, tail).sum() / tail, within(1e-9));
+    }
+
+    private MonteCarloRiskService service(ForkJoinPool pool) {
+        MonteCarloRiskService service = new MonteCarloRiskService(valuationService, marketDataService, pool);
+        ReflectionTestUtils.setField(service, "defaultHorizonDays", 1);
+        ReflectionTestUtils.setField(service, "maxHorizonDays", 30);
+        ReflectionTestUtils.setField(service, "defaultPaths", 100_000);
+        ReflectionTestUtils.setField(service, "maxPaths", 2_000_000);
+        ReflectionTestUtils.setField(service, "defaultConfidence", 0.95);
+        return service;
+    }
+
+    private record Row(AssetType type, String symbol, long quantityUnits, long priceCents) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.projection.InvestmentSearchEntry;
+import com.investments.portfolio.repository.InvestmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class NgramInvestmentSearchIndexTest {
+
+    private final InvestmentRepository investmentRepository = mock(InvestmentRepository.class);
+
+    private final NgramInvestmentSearchIndex index = new NgramInvestmentSearchIndex(investmentRepository);
+
+    @BeforeEach
+    void indexSampleEntries() {
+        given(investmentRepository.findAllById(anyIterable())).willAnswer(invocation -> {
+            List<Investment> investments = new ArrayList<>();
+            Iterable<Long> ids = invocation.getArgument(0);
+            ids.forEach(id -> investments.add(Investment.builder().id(id).build()));
+            Collections.reverse(investments);
+            return investments;
+        });
+        given(investmentRepository.findAllSearchEntries()).willReturn(List.of(
+                new InvestmentSearchEntry(1L, "PETR4", "Petrobras PN"),
+                new InvestmentSearchEntry(2L, "VALE3", "Vale ON"),
+                new InvestmentSearchEntry(3L, "PETR3", "Petrobras ON"),
+                new InvestmentSearchEntry(4L, "BTC", "Bitcoin")));
+        index.initialize();
+    }
+
+    @Test
+    void searchBySymbol_ShouldMatchSubstringsCaseInsensitivelyInIdOrder() {
+        assertThat(ids(index.searchBySymbol("etr", 10))).containsExactly(1L, 3L);
+        assertThat(ids(index.searchBySymbol("PETR4", 10))).containsExactly(1L);
+        assertThat(ids(index.searchBySymbol("XYZ", 10))).isEmpty();
+    }
+
+    @Test
+    void searchByName_ShouldHandleQueriesShorterThanATrigram() {
+        assertThat(ids(index.searchByName("on", 10))).containsExactly(2L, 3L);
+        assertThat(ids(index.searchByName("petrobras", 1))).containsExactly(1L);
+    }
+
+    @Test
+    void recordSavedAndRemoved_ShouldKeepIndexInSync() {
+        index.recordSaved(List.of(
+                new InvestmentSearchEntry(1L, "ITUB4", "Itau Unibanco PN"),
+                new InvestmentSearchEntry(5L, "PETR4", "Petrobras PN")));
+        index.recordRemoved(3L);
+
+        assertThat(ids(index.searchBySymbol("PETR", 10))).containsExactly(5L);
+        assertThat(ids(index.searchByName("unibanco", 10))).containsExactly(1L);
+    }
+
+    private List<Long> ids(List<Investment> investments) {
+        return investments.stream().map(Investment::getId).toList();
+    }
+}
@@ -0,0 +1,188 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.projection.MarketSymbol;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelQuoteFetcherTest {
+
+    private static final long LATENCY_MS = 200;
+
+    private HttpServer quoteServer;
+    private ExecutorService serverExecutor;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void startStubQuoteServer() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        quoteServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        quoteServer.setExecutor(serverExecutor);
+        quoteServer.createContext("/quotes/", this::handleQuote);
+        quoteServer.start();
+    }
+
+    @AfterEach
+    void stopStubQuoteServer() {
+        quoteServer.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void fetch_ShouldTakeAboutTheSlowestCallInsteadOfTheSum() {
+        List<MarketSymbol> symbols = IntStream.range(0, 16)
+                .mapToObj(i -> new MarketSymbol("SYM" + i, AssetType.ACAO))
+                .toList();
+        ParallelQuoteFetcher fetcher = new ParallelQuoteFetcher(16, 2000);
+
+        long start = System.nanoTime();
+        ParallelQuoteFetcher.QuoteBatch batch = fetcher.fetch(symbols, this::quote);
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        fetcher.shutdown();
+
+        assertThat(batch.prices()).hasSize(16);
+        assertThat(batch.timeouts()).isZero();
+        assertThat(batch.failures()).isZero();
+        assertThat(elapsedMs).isLessThan(symbols.size() * LATENCY_MS / 2);
+    }
+
+    @Test
+    void fetch_ShouldRespectConcurrencyLimit() {
+        List<MarketSymbol> symbols = IntStream.range(0, 8)
+                .mapToObj(i -> new MarketSymbol("SYM" + i, AssetType.ACAO))
+                .toList();
+        ParallelQuoteFetcher fetcher = new ParallelQuoteFetcher(2, 2000);
+
+        long start = System.nanoTime();
+        ParallelQuoteFetcher.QuoteBatch batch = fetcher.fetch(symbols, this::quote);
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        fetcher.shutdown();
+
+        assertThat(batch.prices()).hasSize(8);
+        assertThat(elapsedMs).isGreaterThanOrEqualTo(4 * LATENCY_MS);
+    }
+
+    @Test
+    void fetch_ShouldKeepPartialResultsWhenCallsFailOrTimeOut() {
+        List<MarketSymbol> symbols = List.of(
+                new MarketSymbol("PETR4", AssetType.ACAO),
+                new MarketSymbol("HANG", AssetType.ACAO),
+                new MarketSymbol("FAIL", AssetType.CRIPTO),
+                new MarketSymbol("BTC", AssetType.CRIPTO));
+        ParallelQuoteFetcher fetcher = new ParallelQuoteFetcher(4, 500);
+
+        long start = System.nanoTime();
+        ParallelQuoteFetcher.QuoteBatch batch = fetcher.fetch(symbols, this::quote);
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        fetcher.shutdown();
+
+        assertThat(batch.prices()).containsOnlyKeys(
+                new MarketSymbol("PETR4", AssetType.ACAO),
+                new MarketSymbol("BTC", AssetType.CRIPTO));
+        assertThat(batch.timeouts()).isEqualTo(1);
+        assertThat(batch.failures()).isEqualTo(1);
+        assertThat(elapsedMs).isLessThan(2000);
+    }
+
+    @Test
+    void fetch_ShouldKeepThePermitUntilATimedOutCallActuallyReturns() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Function<MarketSymbol, BigDecimal> ignoresInterrupts = symbol -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                sleepUninterruptibly("STUCK".equals(symbol.symbol()) ? 3 * LATENCY_MS / 2 : LATENCY_MS / 4);
+                return BigDecimal.ONE;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        };
+        ParallelQuoteFetcher fetcher = new ParallelQuoteFetcher(1, LATENCY_MS);
+
+        ParallelQuoteFetcher.QuoteBatch first = fetcher.fetch(
+                List.of(new MarketSymbol("STUCK", AssetType.ACAO)), ignoresInterrupts);
+        ParallelQuoteFetcher.QuoteBatch second = fetcher.fetch(
+                List.of(new MarketSymbol("PETR4", AssetType.ACAO), new MarketSymbol("VALE3", AssetType.ACAO)),
+                ignoresInterrupts);
+        fetcher.shutdown();
+
+        assertThat(first.timeouts()).isEqualTo(1);
+        assertThat(second.prices()).hasSize(2);
+        assertThat(maxInFlight).hasValue(1);
+    }
+
+    private static void sleepUninterruptibly(long millis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        boolean interrupted = false;
+        for (long remaining = millis; remaining > 0;
+             remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())) {
+            try {
+                Thread.sleep(remaining);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private BigDecimal quote(MarketSymbol symbol) {
+        URI uri = URI.create("http://127.0.0.1:" + quoteServer.getAddress().getPort() + "/quotes/" + symbol.symbol());
+        try {
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(uri).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Quote server returned " + response.statusCode());
+            }
+            return new BigDecimal(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void handleQuote(HttpExchange exchange) throws IOException {
+        String symbol = exchange.getRequestURI().getPath().substring("/quotes/".length());
+        try {
+            Thread.sleep("HANG".equals(symbol) ? 10_000 : LATENCY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        byte[] body = "FAIL".equals(symbol)
+                ? "unavailable".getBytes(StandardCharsets.UTF_8)
+                : "42.00".getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders("FAIL".equals(symbol) ? 503 : 200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.dto.InvestmentRequestDTO;
+import com.investments.portfolio.model.dto.InvestmentResponseDTO;
+import com.investments.portfolio.model.dto.SummaryDTO;
+import com.investments.portfolio.model.entity.Investment;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.repository.InvestmentRepository;
+import com.investments.portfolio.service.InvestmentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PortfolioSummaryAggregateIntegrationTest {
+
+    @Autowired
+    private InvestmentService investmentService;
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private PortfolioSummaryAggregate summaryAggregate;
+
+    @Autowired
+    private NgramInvestmentSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        investmentRepository.deleteAllInBatch();
+        searchIndex.rebuild();
+        summaryAggregate.rebuild();
+    }
+
+    // Writer A commits with a row still to write that writer B holds; B commits only after a rebuild has started.
+    // Had A entered the commit bracket before waiting on B's row, B would queue behind the rebuild, which waits on A.
+    // PostgreSQL would wait forever; H2 breaks the cycle after its 2 s lock timeout and A fails.
+    @Test
+    void rebuild_WhileAWriterWaitsOnARowHeldByAnother_ShouldNotDeadlock() throws Exception {
+        long first = investmentService.createInvestment(request("10")).getId();
+        long shared = investmentService.createInvestment(request("20")).getId();
+        long third = investmentService.createInvestment(request("30")).getId();
+
+        CountDownLatch sharedRowLocked = new CountDownLatch(1);
+        CountDownLatch releaseWriterB = new CountDownLatch(1);
+        CompletableFuture<InvestmentResponseDTO> writerB = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    InvestmentResponseDTO updated = investmentService.updateInvestment(third, request("31"), null);
+                    jdbcTemplate.update("UPDATE investments SET name = 'B' WHERE id = ?", shared);
+                    sharedRowLocked.countDown();
+                    await(releaseWriterB);
+                    return updated;
+                }));
+        assertThat(sharedRowLocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<InvestmentResponseDTO> writerA;
+        CompletableFuture<Void> rebuild;
+        try {
+            writerA = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+                InvestmentResponseDTO updated = investmentService.updateInvestment(first, request("11"), null);
+                // Left dirty in the session, so the commit's flush is what writes the row B holds.
+                Investment pending = investmentRepository.findById(shared).orElseThrow();
+                pending.setName("A");
+                return updated;
+            }));
+            awaitUntil(() -> blockedSessions() > 0);
+
+            rebuild = CompletableFuture.runAsync(summaryAggregate::rebuild);
+            rebuild.get(5, TimeUnit.SECONDS);
+        } finally {
+            releaseWriterB.countDown();
+        }
+
+        writerB.get(5, TimeUnit.SECONDS);
+        writerA.get(5, TimeUnit.SECONDS);
+        assertThat(investmentRepository.findById(shared)).hasValueSatisfying(investment ->
+                assertThat(investment.getName()).isEqualTo("A"));
+        SummaryDTO expected = DatabasePortfolioSummaryProvider.toSummary(investmentRepository.summarizeByType());
+        SummaryDTO summary = summaryAggregate.getSummary();
+        assertThat(summary.getTotalInvested()).isEqualByComparingTo(expected.getTotalInvested());
+        assertThat(summary.getAssetCount()).isEqualTo(expected.getAssetCount());
+    }
+
+    private long blockedSessions() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS WHERE BLOCKER_ID IS NOT NULL", Long.class);
+    }
+
+    private InvestmentRequestDTO request(String quantity) {
+        return InvestmentRequestDTO.builder()
+                .type(AssetType.ACAO)
+                .symbol("PETR4")
+                .quantity(new BigDecimal(quantity))
+                .purchasePrice(BigDecimal.TEN)
+                .purchaseDate(LocalDate.of(2025, 1, 1))
+                .build();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5 s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.dto.SummaryDTO;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.projection.InvestmentTypeTotal;
+import com.investments.portfolio.repository.InvestmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class PortfolioSummaryAggregateTest {
+
+    private final InvestmentRepository investmentRepository = mock(InvestmentRepository.class);
+
+    private final PortfolioSummaryAggregate aggregate =
+            new PortfolioSummaryAggregate(investmentRepository, mock(PlatformTransactionManager.class));
+
+    @Test
+    void rebuild_ShouldLoadTotalsFromAggregateQuery() {
+        given(investmentRepository.summarizeByType()).willReturn(List.of(
+                total(AssetType.ACAO, "2000.00", 2),
+                total(AssetType.CRIPTO, "1000.00", 1)));
+
+        aggregate.rebuild();
+        SummaryDTO summary = aggregate.getSummary();
+
+        assertThat(summary.getAssetCount()).isEqualTo(3);
+        assertThat(summary.getTotalInvested()).isEqualByComparingTo("3000.00");
+        assertThat(summary.getTotalByType().get(AssetType.ACAO)).isEqualByComparingTo("2000.00");
+        assertThat(summary.getTotalByType().get(AssetType.CRIPTO)).isEqualByComparingTo("1000.00");
+        assertThat(summary.getTotalByType().get(AssetType.FUNDO)).isEqualByComparingTo("0");
+        assertThat(summary.getTotalByType()).containsOnlyKeys(AssetType.values());
+    }
+
+    @Test
+    void recordAddedAndRemoved_ShouldUpdateTotalsInPlace() {
+        given(investmentRepository.summarizeByType()).willReturn(List.of());
+        aggregate.rebuild();
+
+        aggregate.recordAdded(AssetType.FUNDO, new BigDecimal("500.00"));
+        aggregate.recordAdded(AssetType.ACAO, new BigDecimal("300.00"));
+        aggregate.recordRemoved(AssetType.FUNDO, new BigDecimal("500.00"));
+        aggregate.recordAdded(AssetType.RENDA_FIXA, new BigDecimal("1000.00"));
+
+        SummaryDTO summary = aggregate.getSummary();
+
+        assertThat(summary.getAssetCount()).isEqualTo(2);
+        assertThat(summary.getTotalInvested()).isEqualByComparingTo("1300.00");
+        assertThat(summary.getTotalByType().get(AssetType.FUNDO)).isEqualByComparingTo("0");
+        assertThat(summary.getTotalByType().get(AssetType.ACAO)).isEqualByComparingTo("300.00");
+        assertThat(summary.getTotalByType().get(AssetType.RENDA_FIXA)).isEqualByComparingTo("1000.00");
+    }
+
+    @Test
+    void getSummary_ShouldNotExposeInternalState() {
+        given(investmentRepository.summarizeByType()).willReturn(List.of(total(AssetType.ACAO, "10.00", 1)));
+        aggregate.rebuild();
+
+        aggregate.getSummary().getTotalByType().put(AssetType.ACAO, BigDecimal.ZERO);
+
+        assertThat(aggregate.getSummary().getTotalByType().get(AssetType.ACAO)).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    void rebuild_ShouldWaitForCommitWhoseDeltasAreNotYetRecorded() throws Exception {
+        given(investmentRepository.summarizeByType()).willReturn(List.of());
+        aggregate.rebuild();
+        // The commit reaches the database before the rebuild reads it, but its delta is recorded afterwards.
+        aggregate.commitStarting();
+        given(investmentRepository.summarizeByType()).willReturn(List.of(total(AssetType.ACAO, "100.00", 1)));
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(aggregate::rebuild);
+        Thread.sleep(100);
+        assertThat(rebuild).isNotDone();
+        aggregate.recordAdded(AssetType.ACAO, new BigDecimal("100.00"));
+        aggregate.commitFinished();
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        assertThat(aggregate.getSummary().getAssetCount()).isEqualTo(1);
+        assertThat(aggregate.getSummary().getTotalInvested()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void rebuild_ShouldReplayDeltasCommittedAfterItsSnapshot() {
+        given(investmentRepository.summarizeByType()).willAnswer(invocation -> {
+            // Committed while the aggregate query runs, after the snapshot was pinned.
+            CompletableFuture.runAsync(() -> commit(AssetType.CRIPTO, "50.00")).join();
+            return List.of(total(AssetType.ACAO, "100.00", 1));
+        });
+
+        aggregate.rebuild();
+
+        SummaryDTO summary = aggregate.getSummary();
+        assertThat(summary.getAssetCount()).isEqualTo(2);
+        assertThat(summary.getTotalByType().get(AssetType.ACAO)).isEqualByComparingTo("100.00");
+        assertThat(summary.getTotalByType().get(AssetType.CRIPTO)).isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    void rebuild_UnderConcurrentWrites_ShouldConvergeOnTheDatabaseTotals() throws Exception {
+        AtomicInteger committed = new AtomicInteger();
+        AtomicInteger pinned = new AtomicInteger();
+        // The snapshot holds exactly the commits made before it was pinned.
+        given(investmentRepository.existsById(0L)).willAnswer(invocation -> {
+            pinned.set(committed.get());
+            return false;
+        });
+        given(investmentRepository.summarizeByType()).willAnswer(invocation -> pinned.get() == 0
+                ? List.of()
+                : List.of(total(AssetType.ACAO, BigDecimal.TEN.multiply(BigDecimal.valueOf(pinned.get())).toPlainString(),
+                pinned.get())));
+        aggregate.rebuild();
+
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> running = IntStream.range(0, 4)
+                .<Future<?>>mapToObj(i -> writers.submit(() -> {
+                    while (writing.get()) {
+                        aggregate.commitStarting();
+                        try {
+                            committed.incrementAndGet();
+                            aggregate.recordAdded(AssetType.ACAO, BigDecimal.TEN);
+                        } finally {
+                            aggregate.commitFinished();
+                        }
+                    }
+                }))
+                .toList();
+        int rebuilds = 0;
+        while (rebuilds < 200) {
+            aggregate.rebuild();
+            rebuilds++;
+        }
+        writing.set(false);
+        for (Future<?> writer : running) {
+            writer.get(5, TimeUnit.SECONDS);
+        }
+        writers.shutdown();
+
+        SummaryDTO summary = aggregate.getSummary();
+        assertThat(summary.getAssetCount()).isEqualTo(committed.get());
+        assertThat(summary.getTotalInvested())
+                .isEqualByComparingTo(BigDecimal.TEN.multiply(BigDecimal.valueOf(committed.get())));
+    }
+
+    private void commit(AssetType type, String invested) {
+        aggregate.commitStarting();
+        try {
+            aggregate.recordAdded(type, new BigDecimal(invested));
+        } finally {
+            aggregate.commitFinished();
+        }
+    }
+
+    private InvestmentTypeTotal total(AssetType type, String totalInvested, long assetCount) {
+        return new TypeTotal(type, new BigDecimal(totalInvested), assetCount);
+    }
+
+    private record TypeTotal(AssetType type, BigDecimal totalInvested, Long assetCount) implements InvestmentTypeTotal {
+
+        @Override
+        public AssetType getType() {
+            return type;
+        }
+
+        @Override
+        public BigDecimal getTotalInvested() {
+            return totalInvested;
+        }
+
+        @Override
+        public Long getAssetCount() {
+            return assetCount;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.projection.FencingToken;
+import com.investments.portfolio.repository.PriceHistoryJdbcRepository;
+import com.investments.portfolio.service.SchedulerLock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class PriceHistoryMaintenanceTest {
+
+    private final PriceHistoryJdbcRepository historyRepository = mock(PriceHistoryJdbcRepository.class);
+
+    private Optional<FencingToken> lease = Optional.of(FencingToken.unfenced(PriceHistoryMaintenance.MAINTENANCE_TASK));
+
+    private final SchedulerLock schedulerLock = task -> lease;
+
+    private final PriceHistoryMaintenance maintenance = new PriceHistoryMaintenance(historyRepository, schedulerLock);
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(maintenance, "partitioning", true);
+        ReflectionTestUtils.setField(maintenance, "partitionsAhead", 2);
+        ReflectionTestUtils.setField(maintenance, "rawRetentionDays", 35L);
+        ReflectionTestUtils.setField(maintenance, "minuteRetentionDays", 35L);
+        ReflectionTestUtils.setField(maintenance, "hourRetentionDays", 730L);
+    }
+
+    @Test
+    void maintain_WhenAnotherNodeHoldsTheLease_ShouldLeaveTheTablesAlone() {
+        lease = Optional.empty();
+
+        maintenance.onApplicationReady();
+        maintenance.maintain();
+
+        verifyNoInteractions(historyRepository);
+    }
+
+    @Test
+    void maintain_WhenAPartitionCannotBeCreated_ShouldFailTheRun() {
+        given(historyRepository.createMonthlyPartition(any(YearMonth.class)))
+                .willThrow(new DataIntegrityViolationException("updated partition constraint would be violated"));
+
+        assertThatThrownBy(maintenance::maintain).isInstanceOf(DataIntegrityViolationException.class);
+        verify(historyRepository, never()).findMonthlyPartitions();
+        verify(historyRepository, never()).deleteTicksBefore(any());
+    }
+
+    @Test
+    void onApplicationReady_WhenAPartitionCannotBeCreated_ShouldLeaveItToTheScheduledRun() {
+        given(historyRepository.createMonthlyPartition(any(YearMonth.class)))
+                .willThrow(new DataIntegrityViolationException("updated partition constraint would be violated"));
+
+        assertThatCode(maintenance::onApplicationReady).doesNotThrowAnyException();
+        verify(historyRepository, never()).deleteTicksBefore(any());
+    }
+
+    @Test
+    void maintain_ShouldCreateTheCurrentAndUpcomingPartitions() {
+        given(historyRepository.findMonthlyPartitions()).willReturn(List.of());
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+
+        maintenance.maintain();
+
+        verify(historyRepository).createMonthlyPartition(current);
+        verify(historyRepository).createMonthlyPartition(current.plusMonths(2));
+        verify(historyRepository, never()).createMonthlyPartition(current.plusMonths(3));
+    }
+}
@@ -0,0 +1,85 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.exception.InvalidPriceHistoryQueryException;
+import com.investments.portfolio.model.dto.PriceHistoryDTO;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.enums.PriceResolution;
+import com.investments.portfolio.repository.PriceHistoryJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class PriceHistoryServiceImplTest {
+
+    private static final Instant TO = Instant.parse("2026-03-02T10:30:00Z");
+
+    private final PriceHistoryJdbcRepository historyRepository = mock(PriceHistoryJdbcRepository.class);
+
+    private final PriceHistoryServiceImpl service = new PriceHistoryServiceImpl(historyRepository);
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(service, "maxPoints", 1500);
+        ReflectionTestUtils.setField(service, "defaultRangeHours", 24L);
+        ReflectionTestUtils.setField(service, "tickIntervalMs", 60_000L);
+    }
+
+    @Test
+    void finestAdequate_ShouldMoveToCoarserRollupsAsTheRangeGrows() {
+        assertThat(service.finestAdequate(Duration.ofHours(24))).isEqualTo(PriceResolution.MINUTE);
+        assertThat(service.finestAdequate(Duration.ofDays(30))).isEqualTo(PriceResolution.HOUR);
+        assertThat(service.finestAdequate(Duration.ofDays(3650))).isEqualTo(PriceResolution.DAY);
+    }
+
+    @Test
+    void getHistory_ShouldReadHourRollupAlignedToBucketForMonthRange() {
+        Instant from = TO.minus(Duration.ofDays(30));
+        given(historyRepository.findRollups(PriceResolution.HOUR, "PETR4", AssetType.ACAO,
+                Instant.parse("2026-01-31T10:00:00Z"), TO)).willReturn(List.of());
+
+        PriceHistoryDTO history = service.getHistory(" petr4 ", AssetType.ACAO, from, TO, null);
+
+        assertThat(history.getResolution()).isEqualTo(PriceResolution.HOUR);
+        assertThat(history.getSymbol()).isEqualTo("PETR4");
+        verify(historyRepository, never()).findTicks(any(), any(), any(), any());
+    }
+
+    @Test
+    void getHistory_WhenTypeOmitted_ShouldResolveItFromHistory() {
+        given(historyRepository.findTypesBySymbol("BTC")).willReturn(List.of(AssetType.CRIPTO));
+
+        PriceHistoryDTO history = service.getHistory("BTC", null, TO.minusSeconds(600), TO, "raw");
+
+        assertThat(history.getType()).isEqualTo(AssetType.CRIPTO);
+        verify(historyRepository).findTicks("BTC", AssetType.CRIPTO, TO.minusSeconds(600), TO);
+    }
+
+    @Test
+    void getHistory_WhenQueryIsInvalid_ShouldReject() {
+        given(historyRepository.findTypesBySymbol("BTC")).willReturn(List.of(AssetType.CRIPTO, AssetType.FUNDO));
+
+        assertThatThrownBy(() -> service.getHistory("BTC", null, TO.minusSeconds(600), TO, null))
+                .isInstanceOf(InvalidPriceHistoryQueryException.class)
+                .hasMessageContaining("provide 'type'");
+        assertThatThrownBy(() -> service.getHistory("PETR4", AssetType.ACAO, TO, TO.minusSeconds(1), null))
+                .isInstanceOf(InvalidPriceHistoryQueryException.class);
+        assertThatThrownBy(() -> service.getHistory("PETR4", AssetType.ACAO, TO.minus(Duration.ofDays(30)), TO, "1m"))
+                .isInstanceOf(InvalidPriceHistoryQueryException.class)
+                .hasMessageContaining("Range too long");
+        assertThatThrownBy(() -> service.getHistory("PETR4", AssetType.ACAO, null, TO, "5m"))
+                .isInstanceOf(InvalidPriceHistoryQueryException.class)
+                .hasMessageContaining("auto, raw, 1m, 1h, 1d");
+    }
+}
@@ -0,0 +1,114 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.projection.FencingToken;
+import com.investments.portfolio.model.projection.MarketSymbol;
+import com.investments.portfolio.model.projection.PriceQuote;
+import com.investments.portfolio.model.projection.SymbolPrice;
+import com.investments.portfolio.repository.InvestmentPriceJdbcRepository;
+import com.investments.portfolio.service.PortfolioVersionProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PriceWriteBehindTest {
+
+    private static final MarketSymbol PETR4 = new MarketSymbol("PETR4", AssetType.ACAO);
+    private static final MarketSymbol BTC = new MarketSymbol("BTC", AssetType.CRIPTO);
+    private static final FencingToken FENCE = new FencingToken("market-price-refresh", 3);
+
+    private final InvestmentPriceJdbcRepository priceRepository = mock(InvestmentPriceJdbcRepository.class);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final InMemoryPortfolioVersionProvider portfolioVersion = new InMemoryPortfolioVersionProvider();
+
+    private final List<Runnable> queuedWrites = new ArrayList<>();
+
+    private final PriceWriteBehind writeBehind = new PriceWriteBehind(
+            priceRepository, new MarketDataRefreshMetrics(registry), portfolioVersion, 500, queuedWrites::add);
+
+    @Test
+    void submit_ShouldCoalesceToNewestQuotePerSymbolBeforeWriting() {
+        given(priceRepository.updateCurrentPricesInChunks(anyList(), anyInt(), eq(FENCE))).willReturn(3);
+        String etagBefore = portfolioVersion.currentETag();
+
+        writeBehind.submit(List.of(quote(PETR4, "30.00", 1), quote(BTC, "250000.00", 1)), FENCE);
+        writeBehind.submit(List.of(quote(PETR4, "31.00", 2)), FENCE);
+        writeBehind.submit(List.of(quote(PETR4, "29.00", 1)), FENCE);
+
+        assertThat(queuedWrites).hasSize(1);
+        verify(priceRepository, never()).updateCurrentPricesInChunks(anyList(), anyInt(), any());
+
+        queuedWrites.remove(0).run();
+
+        verify(priceRepository).updateCurrentPricesInChunks(
+                argThat(prices -> prices.size() == 2
+                        && prices.contains(new SymbolPrice(PETR4, new BigDecimal("31.00")))),
+                eq(500),
+                eq(FENCE));
+        assertThat(writeBehind.pendingCount()).isZero();
+        assertThat(portfolioVersion.currentETag()).isNotEqualTo(etagBefore);
+        assertThat(registry.get("portfolio.market-data.refresh.rows.written").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void submit_WhenWriteFails_ShouldKeepQuotesForNextFlush() {
+        given(priceRepository.updateCurrentPricesInChunks(anyList(), anyInt(), eq(FENCE)))
+                .willThrow(new DataAccessResourceFailureException("database down"))
+                .willReturn(1);
+        String etagBefore = portfolioVersion.currentETag();
+
+        writeBehind.submit(List.of(quote(PETR4, "30.00", 1)), FENCE);
+        queuedWrites.remove(0).run();
+
+        assertThat(writeBehind.pendingCount()).isEqualTo(1);
+        assertThat(portfolioVersion.currentETag()).isEqualTo(etagBefore);
+        assertThat(registry.get("portfolio.market-data.refresh.write.failures").counter().count()).isEqualTo(1);
+
+        writeBehind.submit(List.of(), FENCE);
+        queuedWrites.remove(0).run();
+
+        assertThat(writeBehind.pendingCount()).isZero();
+        assertThat(portfolioVersion.currentETag()).isNotEqualTo(etagBefore);
+    }
+
+    @Test
+    void submit_WhenVersionBumpFails_ShouldBumpItOnTheRetryThatWritesNothing() {
+        PortfolioVersionProvider failingOnce = mock(PortfolioVersionProvider.class);
+        willThrow(new DataAccessResourceFailureException("database down")).willDoNothing().given(failingOnce).increment();
+        PriceWriteBehind writeBehind = new PriceWriteBehind(
+                priceRepository, new MarketDataRefreshMetrics(registry), failingOnce, 500, queuedWrites::add);
+        given(priceRepository.updateCurrentPricesInChunks(anyList(), anyInt(), eq(FENCE))).willReturn(1, 0);
+
+        writeBehind.submit(List.of(quote(PETR4, "30.00", 1)), FENCE);
+        queuedWrites.remove(0).run();
+        writeBehind.submit(List.of(), FENCE);
+        queuedWrites.remove(0).run();
+
+        verify(failingOnce, times(2)).increment();
+        assertThat(writeBehind.pendingCount()).isZero();
+    }
+
+    private PriceQuote quote(MarketSymbol symbol, String price, long version) {
+        return new PriceQuote(symbol, new BigDecimal(price), Instant.now(), version);
+    }
+}
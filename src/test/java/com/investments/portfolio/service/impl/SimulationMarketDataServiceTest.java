@@ -0,0 +1,184 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.projection.FencingToken;
+import com.investments.portfolio.model.projection.MarketSymbol;
+import com.investments.portfolio.model.projection.PriceQuote;
+import com.investments.portfolio.repository.InvestmentPriceJdbcRepository;
+import com.investments.portfolio.service.MarketDataService;
+import com.investments.portfolio.service.PortfolioEventStream;
+import com.investments.portfolio.service.SchedulerLock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class SimulationMarketDataServiceTest {
+
+    private static final FencingToken LEASE = new FencingToken(SimulationMarketDataService.REFRESH_TASK, 4);
+
+    private final InvestmentPriceJdbcRepository priceRepository = mock(InvestmentPriceJdbcRepository.class);
+
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<MarketDataService> quotesProvider = mock(ObjectProvider.class);
+
+    private final MarketDataService quotes = mock(MarketDataService.class);
+
+    private final ParallelQuoteFetcher quoteFetcher = new ParallelQuoteFetcher(2, 1000);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final InMemoryPortfolioVersionProvider portfolioVersion = new InMemoryPortfolioVersionProvider();
+
+    private final MarketDataRefreshMetrics refreshMetrics = new MarketDataRefreshMetrics(registry);
+
+    private final ConcurrentPriceBook priceBook = new ConcurrentPriceBook(priceRepository);
+
+    private final PriceWriteBehind priceWriteBehind =
+            new PriceWriteBehind(priceRepository, refreshMetrics, portfolioVersion, 100, Runnable::run);
+
+    private final PortfolioEventStream portfolioEvents = mock(PortfolioEventStream.class);
+
+    private final PriceHistoryRecorder priceHistory = mock(PriceHistoryRecorder.class);
+
+    private final GbmTickEngine tickEngine = new GbmTickEngine(42L, 1000, 86_400.0, 0.0);
+
+    private Optional<FencingToken> lease = Optional.of(LEASE);
+
+    private final SchedulerLock schedulerLock = task -> lease;
+
+    private final SimulationMarketDataService service = new SimulationMarketDataService(
+            priceRepository, quotesProvider, quoteFetcher, refreshMetrics, priceBook, priceWriteBehind, portfolioEvents,
+            priceHistory, tickEngine, schedulerLock, portfolioVersion);
+
+    @AfterEach
+    void shutdownFetcher() {
+        quoteFetcher.shutdown();
+    }
+
+    @Test
+    void getCurrentPrice_ShouldStartAtBasePriceAndMoveOnlyWithTicks() {
+        ReflectionTestUtils.setField(service, "priceVariationPercentage", 10.0);
+
+        assertThat(service.getCurrentPrice(" petr4 ", AssetType.ACAO)).isEqualByComparingTo("30.50");
+        assertThat(service.getCurrentPrice("PETR4", AssetType.ACAO)).isEqualByComparingTo("30.50");
+        assertThat(tickEngine.size()).isEqualTo(1);
+
+        tickEngine.advance(1000);
+
+        assertThat(service.getCurrentPrice("PETR4", AssetType.ACAO))
+                .isNotEqualByComparingTo("30.50")
+                .isBetween(new BigDecimal("15.00"), new BigDecimal("60.00"));
+    }
+
+    @Test
+    void getCurrentPrice_ShouldContinueFromTheLastKnownPrice() {
+        given(priceRepository.findLatestPrices()).willReturn(List.of(new PriceQuote(
+                new MarketSymbol("PETR4", AssetType.ACAO), new BigDecimal("36.20"), Instant.now(), 0)));
+        priceBook.initialize();
+        priceBook.publish(Map.of(new MarketSymbol("BTC", AssetType.CRIPTO), new BigDecimal("310000.00")));
+
+        assertThat(service.getCurrentPrice("PETR4", AssetType.ACAO)).isEqualByComparingTo("36.20");
+        assertThat(service.getCurrentPrice("BTC", AssetType.CRIPTO)).isEqualByComparingTo("310000.00");
+        assertThat(service.getCurrentPrice("VALE3", AssetType.ACAO)).isEqualByComparingTo("68.90");
+    }
+
+    @Test
+    void updateAllMarketPrices_ShouldPublishToPriceBookAndRecordCycleMetrics() {
+        given(quotesProvider.getObject()).willReturn(quotes);
+        given(priceRepository.findDistinctSymbols()).willReturn(List.of(
+                new MarketSymbol("PETR4", AssetType.ACAO),
+                new MarketSymbol("BTC", AssetType.CRIPTO)));
+        given(quotes.getCurrentPrice("PETR4", AssetType.ACAO)).willReturn(new BigDecimal("31.00"));
+        given(quotes.getCurrentPrice("BTC", AssetType.CRIPTO)).willThrow(new IllegalStateException("offline"));
+        given(priceRepository.updateCurrentPricesInChunks(anyList(), anyInt(), eq(LEASE))).willReturn(120);
+        String etagBefore = portfolioVersion.currentETag();
+
+        service.updateAllMarketPrices();
+
+        assertThat(priceBook.quote(new MarketSymbol("PETR4", AssetType.ACAO)))
+                .hasValueSatisfying(quote -> {
+                    assertThat(quote.price()).isEqualByComparingTo("31.00");
+                    assertThat(quote.version()).isEqualTo(1);
+                });
+        assertThat(priceBook.quote(new MarketSymbol("BTC", AssetType.CRIPTO))).isEmpty();
+        verify(portfolioEvents).publishPrices(argThat(quotes -> quotes.size() == 1));
+        verify(priceHistory).record(argThat(quotes -> quotes.size() == 1));
+        assertThat(portfolioVersion.currentETag()).isNotEqualTo(etagBefore);
+
+        assertThat(registry.get("portfolio.market-data.refresh.duration").timer().count()).isEqualTo(1);
+        assertThat(registry.get("portfolio.market-data.refresh.symbols.priced").counter().count()).isEqualTo(1);
+        assertThat(registry.get("portfolio.market-data.refresh.rows.written").counter().count()).isEqualTo(120);
+        assertThat(registry.get("portfolio.market-data.refresh.quote.failures").tag("reason", "error").counter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("portfolio.market-data.refresh.skipped").counter().count()).isZero();
+    }
+
+    @Test
+    void updateAllMarketPrices_WhenAnotherNodeHoldsTheLease_ShouldOnlyFollowStoredPrices() {
+        lease = Optional.empty();
+        MarketSymbol petr4 = new MarketSymbol("PETR4", AssetType.ACAO);
+        given(priceRepository.findLatestPrices())
+                .willReturn(List.of(new PriceQuote(petr4, new BigDecimal("31.00"), Instant.now(), 0)));
+        String etagBefore = portfolioVersion.currentETag();
+
+        service.updateAllMarketPrices();
+        String etagAfterFirstCycle = portfolioVersion.currentETag();
+        service.updateAllMarketPrices();
+
+        verify(quotesProvider, never()).getObject();
+        verify(priceRepository, never()).updateCurrentPricesInChunks(anyList(), anyInt(), any());
+        verify(priceHistory, never()).record(anyList());
+        verify(portfolioEvents, times(1)).publishPrices(argThat(quotes -> quotes.size() == 1));
+        assertThat(priceBook.quote(petr4)).hasValueSatisfying(quote ->
+                assertThat(quote.price()).isEqualByComparingTo("31.00"));
+        assertThat(etagAfterFirstCycle).isNotEqualTo(etagBefore);
+        assertThat(portfolioVersion.currentETag()).isEqualTo(etagAfterFirstCycle);
+        assertThat(registry.get("portfolio.market-data.refresh.not-leader").counter().count()).isEqualTo(2);
+        assertThat(registry.get("portfolio.market-data.refresh.duration").timer().count()).isZero();
+    }
+
+    @Test
+    void updateAllMarketPrices_WhenPreviousCycleStillRunning_ShouldSkip() throws Exception {
+        CountDownLatch inFirstCycle = new CountDownLatch(1);
+        CountDownLatch releaseFirstCycle = new CountDownLatch(1);
+        given(quotesProvider.getObject()).willReturn(quotes);
+        given(priceRepository.findDistinctSymbols()).willAnswer(invocation -> {
+            inFirstCycle.countDown();
+            releaseFirstCycle.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        CompletableFuture<Void> firstCycle = CompletableFuture.runAsync(service::updateAllMarketPrices);
+        assertThat(inFirstCycle.await(5, TimeUnit.SECONDS)).isTrue();
+
+        service.updateAllMarketPrices();
+        releaseFirstCycle.countDown();
+        firstCycle.get(5, TimeUnit.SECONDS);
+
+        assertThat(registry.get("portfolio.market-data.refresh.skipped").counter().count()).isEqualTo(1);
+        assertThat(registry.get("portfolio.market-data.refresh.duration").timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,202 @@
+package com.investments.portfolio.service.impl;
+
+import com.investments.portfolio.model.dto.PortfolioChangeDTO;
+import com.investments.portfolio.model.dto.PriceChangeDTO;
+import com.investments.portfolio.model.dto.SummaryDTO;
+import com.investments.portfolio.model.enums.AssetType;
+import com.investments.portfolio.model.projection.MarketSymbol;
+import com.investments.portfolio.model.projection.PriceQuote;
+import com.investments.portfolio.repository.InvestmentPriceJdbcRepository;
+import com.investments.portfolio.service.PortfolioSummaryProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class SsePortfolioEventStreamTest {
+
+    private static final MarketSymbol PETR4 = new MarketSymbol("PETR4", AssetType.ACAO);
+    private static final MarketSymbol VALE3 = new MarketSymbol("VALE3", AssetType.ACAO);
+    private static final MarketSymbol BTC = new MarketSymbol("BTC", AssetType.CRIPTO);
+
+    private final ConcurrentPriceBook priceBook = new ConcurrentPriceBook(mock(InvestmentPriceJdbcRepository.class));
+
+    private final PortfolioSummaryProvider summaryProvider = mock(PortfolioSummaryProvider.class);
+
+    private final InMemoryPortfolioVersionProvider portfolioVersion = new InMemoryPortfolioVersionProvider();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    private SsePortfolioEventStream stream(int bufferSize) {
+        given(summaryProvider.getSummary()).willReturn(SummaryDTO.builder()
+                .totalInvested(BigDecimal.TEN)
+                .totalByType(Map.of())
+                .assetCount(1)
+                .build());
+        return new SsePortfolioEventStream(priceBook, summaryProvider, portfolioVersion, registry, bufferSize, 60_000,
+                () -> {
+                    RecordingEmitter emitter = new RecordingEmitter();
+                    emitters.add(emitter);
+                    return emitter;
+                }, Runnable::run);
+    }
+
+    @Test
+    void subscribe_ShouldSendPriceSnapshotAndCurrentPortfolio() {
+        priceBook.publish(Map.of(PETR4, new BigDecimal("31.00")));
+        SsePortfolioEventStream stream = stream(16);
+
+        stream.subscribe();
+
+        RecordingEmitter emitter = emitters.get(0);
+        assertThat(emitter.prices()).singleElement().satisfies(price -> {
+            assertThat(price.getSymbol()).isEqualTo("PETR4");
+            assertThat(price.getVersion()).isEqualTo(1);
+        });
+        assertThat(emitter.portfolioChanges()).singleElement()
+                .satisfies(change -> assertThat(change.getEtag()).isEqualTo(portfolioVersion.currentETag()));
+    }
+
+    @Test
+    void publishPrices_ShouldCoalesceToLatestQuotePerSymbol() {
+        SsePortfolioEventStream stream = stream(16);
+        stream.subscribe();
+        RecordingEmitter emitter = emitters.get(0);
+        emitter.events.clear();
+
+        stream.publishPrices(List.of(quote(PETR4, "30.00", 1), quote(BTC, "250000.00", 1)));
+        stream.publishPrices(List.of(quote(PETR4, "31.00", 2)));
+        stream.publishPrices(List.of(quote(PETR4, "29.00", 3)));
+        stream.flushAll();
+
+        assertThat(emitter.events).hasSize(1);
+        assertThat(emitter.prices())
+                .extracting(PriceChangeDTO::getSymbol, PriceChangeDTO::getVersion)
+                .containsExactly(
+                        tuple("BTC", 1L),
+                        tuple("PETR4", 3L));
+    }
+
+    @Test
+    void publishPrices_WhenBufferIsFull_ShouldDropOldestSymbol() {
+        SsePortfolioEventStream stream = stream(2);
+        stream.subscribe();
+        RecordingEmitter emitter = emitters.get(0);
+        emitter.events.clear();
+
+        stream.publishPrices(List.of(quote(PETR4, "30.00", 1), quote(VALE3, "68.00", 1), quote(BTC, "250000.00", 1)));
+        stream.flushAll();
+
+        assertThat(emitter.prices()).extracting(PriceChangeDTO::getSymbol).containsExactly("VALE3", "BTC");
+        assertThat(registry.get("portfolio.events.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void flushAll_ShouldSendOnePortfolioEventPerVersionChange() {
+        SsePortfolioEventStream stream = stream(16);
+        stream.subscribe();
+        RecordingEmitter emitter = emitters.get(0);
+        emitter.events.clear();
+
+        stream.flushAll();
+        assertThat(emitter.events).isEmpty();
+
+        portfolioVersion.increment();
+        portfolioVersion.increment();
+        stream.flushAll();
+        stream.flushAll();
+
+        assertThat(emitter.portfolioChanges()).singleElement()
+                .satisfies(change -> assertThat(change.getEtag()).isEqualTo(portfolioVersion.currentETag()));
+    }
+
+    @Test
+    void flushAll_WhenAnotherClientSubscribesAfterAChange_ShouldStillSendItToEarlierSubscribers() {
+        SsePortfolioEventStream stream = stream(16);
+        stream.subscribe();
+        RecordingEmitter first = emitters.get(0);
+        first.events.clear();
+
+        portfolioVersion.increment();
+        stream.subscribe();
+        RecordingEmitter second = emitters.get(1);
+        second.events.clear();
+        stream.flushAll();
+
+        assertThat(first.portfolioChanges()).singleElement()
+                .satisfies(change -> assertThat(change.getEtag()).isEqualTo(portfolioVersion.currentETag()));
+        assertThat(second.portfolioChanges()).isEmpty();
+    }
+
+    @Test
+    void flushAll_WhenSubscriberFails_ShouldRemoveItAndKeepServingOthers() {
+        SsePortfolioEventStream stream = stream(16);
+        stream.subscribe();
+        stream.subscribe();
+        emitters.get(0).failing = true;
+
+        stream.publishPrices(List.of(quote(PETR4, "30.00", 1)));
+        stream.flushAll();
+
+        assertThat(stream.subscriberCount()).isEqualTo(1);
+        assertThat(emitters.get(1).prices()).extracting(PriceChangeDTO::getSymbol).containsExactly("PETR4");
+        assertThat(registry.get("portfolio.events.subscribers").gauge().value()).isEqualTo(1);
+    }
+
+    private PriceQuote quote(MarketSymbol symbol, String price, long version) {
+        return new PriceQuote(symbol, new BigDecimal(price), Instant.now(), version);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<Set<DataWithMediaType>> events = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("connection reset");
+            }
+            events.add(builder.build());
+        }
+
+        List<PriceChangeDTO> prices() {
+            List<PriceChangeDTO> prices = new ArrayList<>();
+            payloads("prices").forEach(payload -> ((List<?>) payload).forEach(price -> prices.add((PriceChangeDTO) price)));
+            return prices;
+        }
+
+        List<PortfolioChangeDTO> portfolioChanges() {
+            return payloads("portfolio").stream().map(PortfolioChangeDTO.class::cast).toList();
+        }
+
+        private List<Object> payloads(String name) {
+            List<Object> payloads = new ArrayList<>();
+            for (Set<DataWithMediaType> event : events) {
+                boolean named = event.stream().anyMatch(part -> part.getData() instanceof String text
+                        && text.contains("event:" + name + "\n"));
+                if (named) {
+                    event.stream()
+                            .map(DataWithMediaType::getData)
+                            .filter(data -> !(data instanceof String))
+                            .forEach(payloads::add);
+                }
+            }
+            return payloads;
+        }
+    }
+}